@@ -1,6 +1,8 @@
 package com.osome.stickydecorator
 
+import android.os.Build
 import android.os.Bundle
+import android.util.Log
 import android.view.Menu
 import android.view.MenuItem
 import androidx.appcompat.app.AppCompatActivity
@@ -10,12 +12,28 @@ import com.osome.stickydecorator.decor.SectionDecor
 import com.osome.stickydecorator.decor.SectionDecorReverse
 import com.osome.stickydecorator.decor.StickyDecorReverse
 import com.osome.stickydecorator.decor.StickySectionDecor
+import com.osome.stickydecorator.scroll.ScrollBenchmark
+import com.osome.stickydecorator.scroll.ScrollScenario
+import com.osome.stickydecorator.scroll.TimedItemDecoration
 import kotlinx.android.synthetic.main.activity_main.*
 
 
 class MainActivity : AppCompatActivity() {
+    companion object {
+        /**
+         * Count of generated items, e.g. `adb shell am start -n com.osome.stickydecorator/.MainActivity --ei itemCount 100000`
+         */
+        const val EXTRA_ITEM_COUNT = "itemCount"
+
+        /**
+         * Run scroll benchmark for all configurations, results are printed to logcat with [ScrollBenchmark.TAG] tag
+         */
+        const val EXTRA_SCROLL_BENCHMARK = "scrollBenchmark"
+    }
 
-    private val adapter = ItemAdapter(generateItem(32))
+    private val itemCount by lazy { intent.getIntExtra(EXTRA_ITEM_COUNT, 32) }
+    private val sectionItemCount by lazy { intent.getIntExtra(EXTRA_ITEM_COUNT, 34) }
+    private val adapter by lazy { ItemAdapter(generateItem(itemCount)) }
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
@@ -23,6 +41,32 @@ class MainActivity : AppCompatActivity() {
         title = "Select options here  =======>"
 
         setUpStickyRecycler()
+
+        if (intent.getBooleanExtra(EXTRA_SCROLL_BENCHMARK, false) && savedInstanceState == null) {
+            startScrollBenchmark()
+        }
+    }
+
+    private fun startScrollBenchmark() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            Log.w(ScrollBenchmark.TAG, "Frame metrics require API 24")
+            return
+        }
+
+        val scenarios = listOf(
+                ScrollScenario("sticky", false) { setUpStickyRecycler() },
+                ScrollScenario("stickyReverse", true) { setUpStickyReverseRecycler() },
+                ScrollScenario("section", false) { setUpSectionRecycler() },
+                ScrollScenario("sectionReverse", true) { setUpSectionReverseRecycler() },
+                ScrollScenario("viewHolder", false) { setUpViewHolderSection() },
+                ScrollScenario("viewHolderReverse", true) { setUpViewHolderSectionReverse() },
+                ScrollScenario("viewHolderGrid", false) { setUpViewHolderSectionGrid() },
+                ScrollScenario("viewHolderGridReverse", true) { setUpViewHolderSectionGridReverse() })
+        title = "Scroll benchmark is running"
+        ScrollBenchmark(this, recycler, scenarios) { results ->
+            title = "Scroll benchmark finished, see logcat"
+            Log.i(ScrollBenchmark.TAG, results.joinToString("\n", "Results for $itemCount items:\n"))
+        }.start()
     }
 
     override fun onCreateOptionsMenu(menu: Menu?): Boolean {
@@ -90,7 +134,7 @@ class MainActivity : AppCompatActivity() {
 
     private fun setUpViewHolderSection() {
         clearDecoration()
-        val adapter = SectionItemAdapter(generateItemWithSection(34))
+        val adapter = SectionItemAdapter(generateItemWithSection(sectionItemCount))
         recycler.adapter = adapter
         recycler.layoutManager = LinearLayoutManager(recycler.context)
         recycler.addItemDecoration(ViewHolderStickyDecoration(recycler, adapter))
@@ -98,7 +142,7 @@ class MainActivity : AppCompatActivity() {
 
     private fun setUpViewHolderSectionReverse() {
         clearDecoration()
-        val adapter = SectionItemAdapter(generateItemWithSectionReverse(34))
+        val adapter = SectionItemAdapter(generateItemWithSectionReverse(sectionItemCount))
         recycler.adapter = adapter
         recycler.layoutManager = LinearLayoutManager(recycler.context, LinearLayoutManager.VERTICAL, true)
         recycler.addItemDecoration(ViewHolderStickyDecoration(recycler, adapter, true))
@@ -106,7 +150,7 @@ class MainActivity : AppCompatActivity() {
 
     private fun setUpViewHolderSectionGrid() {
         clearDecoration()
-        val adapter = SectionItemAdapter(generateItemWithSection(34))
+        val adapter = SectionItemAdapter(generateItemWithSection(sectionItemCount))
         recycler.adapter = adapter
 
         val spanCount = 3
@@ -125,7 +169,7 @@ class MainActivity : AppCompatActivity() {
 
     private fun setUpViewHolderSectionGridReverse() {
         clearDecoration()
-        val adapter = SectionItemAdapter(generateItemWithSectionReverse(34))
+        val adapter = SectionItemAdapter(generateItemWithSectionReverse(sectionItemCount))
         recycler.adapter = adapter
 
         val spanCount = 3
@@ -143,8 +187,14 @@ class MainActivity : AppCompatActivity() {
     }
 
     private fun clearDecoration() {
-        for (i in 0 until recycler.itemDecorationCount) {
-            recycler.removeItemDecorationAt(i)
+        while (recycler.itemDecorationCount > 0) {
+            var decoration = recycler.getItemDecorationAt(0)
+            recycler.removeItemDecorationAt(0)
+            if (decoration is TimedItemDecoration) {
+                decoration = decoration.delegate
+            }
+            // view holder decorations keep adapter observer and recycler listeners until released
+            (decoration as? ViewHolderStickyDecoration)?.release()
         }
     }
 }
\ No newline at end of file
@@ -16,6 +16,11 @@ class StickyDecorReverse(private val itemProvider: ItemProvider<Item>) : Vertica
     private val section = buildTextDrawable()
     private val header = buildTextDrawable()
 
+    init {
+        // section and header heights don't depend on text, so measure them once
+        setOffsetsCacheEnabled(true)
+    }
+
     private fun buildTextDrawable(): SimpleTextDrawable {
         return SimpleTextDrawable.Builder()
                 .setPaddingSymmetricDp(12, 4)
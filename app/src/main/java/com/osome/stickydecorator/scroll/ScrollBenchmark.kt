@@ -0,0 +1,146 @@
+package com.osome.stickydecorator.scroll
+
+import android.app.Activity
+import android.os.Build
+import android.os.Handler
+import android.os.Looper
+import android.util.Log
+import android.view.FrameMetrics
+import android.view.Window
+import androidx.annotation.RequiresApi
+import androidx.recyclerview.widget.RecyclerView
+import com.osome.stickydecorator.px2dp
+
+/**
+ * Scroll scenario: sets up RecyclerView with decoration
+ */
+class ScrollScenario(val name: String, val reverseLayout: Boolean, val setUp: () -> Unit)
+
+/**
+ * Drives each scenario through the same scripted flings and records frame durations,
+ * janky frames percentage and decoration time per frame. Results are printed to logcat with [TAG] tag.
+ */
+@RequiresApi(Build.VERSION_CODES.N)
+class ScrollBenchmark(
+        private val activity: Activity,
+        private val recycler: RecyclerView,
+        private val scenarios: List<ScrollScenario>,
+        private val onFinished: (List<String>) -> Unit
+) {
+    companion object {
+        const val TAG = "ScrollBenchmark"
+
+        // fling velocities in dp per second, positive is toward the end of the list
+        private val FLINGS = intArrayOf(6000, 6000, 6000, -3000, 9000, 9000, -9000, 12000, 12000, 12000)
+        private const val SETTLE_DELAY_MS = 500L
+    }
+
+    private val handler = Handler(Looper.getMainLooper())
+    private val frameDurations = ArrayList<Long>()
+    private val results = ArrayList<String>()
+    private val frameIntervalNanos = (1_000_000_000 / activity.windowManager.defaultDisplay.refreshRate).toLong()
+    private var recording = false
+    private var scenarioIndex = 0
+    private var flingIndex = 0
+    private var timedDecoration: TimedItemDecoration? = null
+
+    private val frameMetricsListener = Window.OnFrameMetricsAvailableListener { _, frameMetrics, _ ->
+        if (recording && frameMetrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 0L) {
+            frameDurations += frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION)
+        }
+    }
+
+    private val scrollListener = object : RecyclerView.OnScrollListener() {
+        override fun onScrollStateChanged(recyclerView: RecyclerView, newState: Int) {
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                handler.post { nextFling() }
+            }
+        }
+    }
+
+    fun start() {
+        activity.window.addOnFrameMetricsAvailableListener(frameMetricsListener, handler)
+        recycler.addOnScrollListener(scrollListener)
+        startScenario()
+    }
+
+    private fun startScenario() {
+        if (scenarioIndex == scenarios.size) {
+            finish()
+            return
+        }
+
+        scenarios[scenarioIndex].setUp()
+        wrapDecoration()
+        flingIndex = 0
+        frameDurations.clear()
+        // let the first layout and inflation settle, they are not part of scroll
+        handler.postDelayed({
+            timedDecoration?.reset()
+            recording = true
+            nextFling()
+        }, SETTLE_DELAY_MS)
+    }
+
+    private fun wrapDecoration() {
+        timedDecoration = null
+        if (recycler.itemDecorationCount == 0) {
+            return
+        }
+        val decoration = recycler.getItemDecorationAt(0)
+        recycler.removeItemDecorationAt(0)
+        timedDecoration = TimedItemDecoration(decoration).also { recycler.addItemDecoration(it, 0) }
+    }
+
+    private fun nextFling() {
+        if (!recording) {
+            return
+        }
+        if (flingIndex == FLINGS.size) {
+            recording = false
+            report(scenarios[scenarioIndex])
+            scenarioIndex++
+            startScenario()
+            return
+        }
+
+        val scenario = scenarios[scenarioIndex]
+        // in reversed layout the end of the list is at the top
+        val velocity = FLINGS[flingIndex++].px2dp * if (scenario.reverseLayout) -1 else 1
+        if (!recycler.fling(0, velocity)) {
+            handler.post { nextFling() }
+        }
+    }
+
+    private fun report(scenario: ScrollScenario) {
+        val frames = frameDurations.size
+        if (frames == 0) {
+            results += "${scenario.name}: no frames"
+            return
+        }
+
+        val sorted = frameDurations.sorted()
+        val janky = frameDurations.count { it > frameIntervalNanos }
+        val decorationNanos = timedDecoration?.totalNanos ?: 0L
+        val result = "%s: frames=%d janky=%.1f%% p50=%.2fms p90=%.2fms p99=%.2fms decoration=%.1fus/frame".format(
+                scenario.name,
+                frames,
+                janky * 100f / frames,
+                sorted.percentile(50) / 1e6,
+                sorted.percentile(90) / 1e6,
+                sorted.percentile(99) / 1e6,
+                decorationNanos / 1e3 / frames)
+        Log.i(TAG, result)
+        results += result
+    }
+
+    private fun finish() {
+        recycler.removeOnScrollListener(scrollListener)
+        activity.window.removeOnFrameMetricsAvailableListener(frameMetricsListener)
+        onFinished(results)
+    }
+
+    private fun List<Long>.percentile(percent: Int): Long {
+        return this[((size - 1) * percent) / 100]
+    }
+}
@@ -0,0 +1,38 @@
+package com.osome.stickydecorator.scroll
+
+import android.graphics.Canvas
+import android.graphics.Rect
+import android.os.SystemClock
+import android.view.View
+import androidx.recyclerview.widget.RecyclerView
+
+/**
+ * Delegates all calls to wrapped decoration and sums time spent in it
+ */
+class TimedItemDecoration(val delegate: RecyclerView.ItemDecoration) : RecyclerView.ItemDecoration() {
+
+    var totalNanos = 0L
+        private set
+
+    fun reset() {
+        totalNanos = 0L
+    }
+
+    override fun getItemOffsets(outRect: Rect, view: View, parent: RecyclerView, state: RecyclerView.State) {
+        val start = SystemClock.elapsedRealtimeNanos()
+        delegate.getItemOffsets(outRect, view, parent, state)
+        totalNanos += SystemClock.elapsedRealtimeNanos() - start
+    }
+
+    override fun onDraw(c: Canvas, parent: RecyclerView, state: RecyclerView.State) {
+        val start = SystemClock.elapsedRealtimeNanos()
+        delegate.onDraw(c, parent, state)
+        totalNanos += SystemClock.elapsedRealtimeNanos() - start
+    }
+
+    override fun onDrawOver(c: Canvas, parent: RecyclerView, state: RecyclerView.State) {
+        val start = SystemClock.elapsedRealtimeNanos()
+        delegate.onDrawOver(c, parent, state)
+        totalNanos += SystemClock.elapsedRealtimeNanos() - start
+    }
+}
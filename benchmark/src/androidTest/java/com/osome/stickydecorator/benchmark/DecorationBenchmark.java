@@ -0,0 +1,85 @@
+package com.osome.stickydecorator.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time per frame of decorations hot path: {@link com.osome.stickydecorator.ConditionItemDecorator} with sections,
+ * {@link com.osome.stickydecorator.VerticalStickyDecor} and {@link com.osome.stickydecorator.ViewHolderStickyDecoration}.
+ * Fixtures: 1k/10k/100k items, dense (every 5th item) and sparse (every 500th item) sections, normal and reversed layout.
+ * Allocations per frame are reported separately before timing.
+ */
+@RunWith(Parameterized.class)
+public class DecorationBenchmark {
+    private static final String[] DECORATIONS = {DecorationFixture.SECTION, DecorationFixture.STICKY, DecorationFixture.VIEW_HOLDER};
+    private static final int[] ITEM_COUNTS = {1_000, 10_000, 100_000};
+    private static final int[] SECTIONS_EVERY = {5, 500};
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameter(0)
+    public String decoration;
+    @Parameterized.Parameter(1)
+    public int itemCount;
+    @Parameterized.Parameter(2)
+    public int sectionEvery;
+    @Parameterized.Parameter(3)
+    public boolean reverseLayout;
+
+    private DecorationFixture fixture;
+
+    @Parameterized.Parameters(name = "{0}_items{1}_sectionEvery{2}_reverse{3}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (String decoration : DECORATIONS) {
+            for (int itemCount : ITEM_COUNTS) {
+                for (int sectionEvery : SECTIONS_EVERY) {
+                    parameters.add(new Object[]{decoration, itemCount, sectionEvery, false});
+                    parameters.add(new Object[]{decoration, itemCount, sectionEvery, true});
+                }
+            }
+        }
+        return parameters;
+    }
+
+    @Before
+    public void setUp() {
+        fixture = new DecorationFixture(decoration, itemCount, sectionEvery, reverseLayout);
+    }
+
+    @Test
+    public void drawFrame() {
+        FrameAllocations.report(decoration + "_items" + itemCount + "_sectionEvery" + sectionEvery + "_reverse" + reverseLayout,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        fixture.drawFrame();
+                    }
+                },
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        fixture.scroll();
+                    }
+                });
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            fixture.scroll();
+            state.resumeTiming();
+
+            fixture.drawFrame();
+        }
+    }
+}
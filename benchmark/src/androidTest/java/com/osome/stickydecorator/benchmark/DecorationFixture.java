@@ -0,0 +1,198 @@
+package com.osome.stickydecorator.benchmark;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.osome.stickydecorator.ConditionItemDecorator;
+import com.osome.stickydecorator.VerticalDrawableSectionDecor;
+import com.osome.stickydecorator.VerticalStickyDrawableDecor;
+import com.osome.stickydecorator.ViewHolderStickyDecoration;
+
+/**
+ * Detached RecyclerView with fixed size, fixed item height and sections every N items.
+ * Every frame RecyclerView is scrolled by fixed step and decoration is drawn on bitmap canvas.
+ */
+final class DecorationFixture {
+    static final String SECTION = "section";
+    static final String STICKY = "sticky";
+    static final String VIEW_HOLDER = "viewHolder";
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int ITEM_HEIGHT = 120;
+    private static final int SECTION_HEIGHT = 60;
+    private static final int SCROLL_STEP = 37;
+
+    private final RecyclerView recyclerView;
+    private final RecyclerView.ItemDecoration decoration;
+    private final Canvas canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    private final StateCapture stateCapture = new StateCapture();
+    private final int direction;
+
+    DecorationFixture(@NonNull String decorationType, int itemCount, int sectionEvery, boolean reverseLayout) {
+        Context context = ApplicationProvider.getApplicationContext();
+        ItemAdapter adapter = new ItemAdapter(itemCount, sectionEvery);
+        recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context, RecyclerView.VERTICAL, reverseLayout));
+        recyclerView.setAdapter(adapter);
+        recyclerView.setItemAnimator(null);
+        decoration = createDecoration(decorationType, adapter, reverseLayout);
+        recyclerView.addItemDecoration(stateCapture);
+        recyclerView.addItemDecoration(decoration);
+        // in reversed layout the end of the list is at the top
+        direction = reverseLayout ? -1 : 1;
+
+        layout();
+        recyclerView.draw(canvas);
+    }
+
+    @NonNull
+    private RecyclerView.ItemDecoration createDecoration(@NonNull String type, @NonNull ItemAdapter adapter, boolean reverseLayout) {
+        switch (type) {
+            case SECTION:
+                return new ConditionItemDecorator(adapter, new SectionDecor());
+            case STICKY:
+                return new ConditionItemDecorator(adapter, new StickyDecor(reverseLayout));
+            case VIEW_HOLDER:
+                return new ViewHolderStickyDecoration(recyclerView, adapter, reverseLayout);
+            default:
+                throw new IllegalArgumentException("Unknown decoration " + type);
+        }
+    }
+
+    /**
+     * Scroll by fixed step, list is scrolled back to the start when its end is reached
+     */
+    void scroll() {
+        if (recyclerView.canScrollVertically(direction)) {
+            recyclerView.scrollBy(0, direction * SCROLL_STEP);
+            return;
+        }
+        recyclerView.scrollToPosition(0);
+        layout();
+    }
+
+    void drawFrame() {
+        decoration.onDrawOver(canvas, recyclerView, stateCapture.state);
+    }
+
+    private void layout() {
+        recyclerView.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * RecyclerView keeps single state instance, so it is captured once from the first draw
+     */
+    private static class StateCapture extends RecyclerView.ItemDecoration {
+        RecyclerView.State state;
+
+        @Override
+        public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+            this.state = state;
+        }
+    }
+
+    private static class ItemAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+            implements ViewHolderStickyDecoration.Condition, ConditionItemDecorator.Condition {
+        private static final int TYPE_ITEM = 0;
+        private static final int TYPE_HEADER = 1;
+
+        private final int itemCount;
+        private final int sectionEvery;
+
+        ItemAdapter(int itemCount, int sectionEvery) {
+            this.itemCount = itemCount;
+            this.sectionEvery = sectionEvery;
+        }
+
+        @Override
+        public boolean isHeader(int position) {
+            return position % sectionEvery == 0;
+        }
+
+        @Override
+        public boolean isForDrawOver(int position) {
+            return isHeader(position);
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return isHeader(position) ? TYPE_HEADER : TYPE_ITEM;
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+            view.setBackgroundColor(viewType == TYPE_HEADER ? Color.LTGRAY : Color.WHITE);
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+    }
+
+    private static class SectionDecor extends VerticalDrawableSectionDecor {
+        private final Drawable drawable = new ColorDrawable(Color.GRAY);
+
+        @NonNull
+        @Override
+        protected Drawable getDrawable(int position, @NonNull Rect sectionBounds, @NonNull View child) {
+            return drawable;
+        }
+
+        @Override
+        protected int getSectionHeight(int position) {
+            return SECTION_HEIGHT;
+        }
+    }
+
+    private static class StickyDecor extends VerticalStickyDrawableDecor {
+        private final Drawable section = new ColorDrawable(Color.GRAY);
+        private final Drawable header = new ColorDrawable(Color.DKGRAY);
+
+        StickyDecor(boolean reverseLayout) {
+            super(reverseLayout);
+        }
+
+        @NonNull
+        @Override
+        protected Drawable getSectionDrawable(int position, @NonNull Rect sectionBounds, @NonNull View child) {
+            return section;
+        }
+
+        @NonNull
+        @Override
+        protected Drawable getHeaderDrawable(int position, @NonNull Rect headerBounds) {
+            return header;
+        }
+
+        @Override
+        protected int getSectionHeight(int position) {
+            return SECTION_HEIGHT;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.osome.stickydecorator.benchmark;
+
+import android.os.Bundle;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/**
+ * Counts allocations of the current thread per frame. Measured outside of timing loop,
+ * because allocation counting slows down allocations.
+ */
+final class FrameAllocations {
+    private static final String TAG = "FrameAllocations";
+    private static final int WARM_UP_FRAMES = 50;
+    private static final int FRAMES = 500;
+
+    private FrameAllocations() {
+    }
+
+    /**
+     * Run frames and report average allocations count per frame in to log and instrumentation status
+     *
+     * @param name  benchmark name
+     * @param frame frame to measure, scroll step should be done outside of it
+     * @param step  action between frames which is not counted
+     */
+    @SuppressWarnings("deprecation")
+    static void report(@NonNull String name, @NonNull Runnable frame, @NonNull Runnable step) {
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            step.run();
+            frame.run();
+        }
+
+        long allocations = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            step.run();
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            frame.run();
+            Debug.stopAllocCounting();
+            allocations += Debug.getThreadAllocCount();
+        }
+
+        float perFrame = allocations / (float) FRAMES;
+        Log.i(TAG, name + " allocations/frame: " + perFrame);
+        Bundle status = new Bundle();
+        status.putString(TAG, name + " allocations/frame: " + perFrame);
+        InstrumentationRegistry.getInstrumentation().sendStatus(2, status);
+    }
+}
@@ -0,0 +1,85 @@
+package com.osome.stickydecorator.benchmark;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.osome.stickydecorator.SimpleTextDrawable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Time of {@link SimpleTextDrawable#setText(String)} and {@link SimpleTextDrawable#draw(Canvas)}
+ * for labels from small vocabulary, like dates of sections
+ */
+@RunWith(AndroidJUnit4.class)
+public class SimpleTextDrawableBenchmark {
+    private static final String[] LABELS = new String[31];
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) {
+            LABELS[i] = (i + 1) + " June 2020";
+        }
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Canvas canvas = new Canvas(Bitmap.createBitmap(1080, 200, Bitmap.Config.ARGB_8888));
+    private final SimpleTextDrawable drawable = new SimpleTextDrawable.Builder()
+            .setTextColor(Color.BLACK)
+            .setBackgroundColor(Color.LTGRAY)
+            .setBackgroundCornerRadiusDp(8)
+            .setPaddingSymmetricDp(12, 4)
+            .build();
+    private int label = 0;
+
+    @Test
+    public void setText() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            setLabel();
+            label = nextLabel();
+        }
+    }
+
+    @Test
+    public void setTextAndDraw() {
+        FrameAllocations.report("SimpleTextDrawable_setTextAndDraw",
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        setLabel();
+                        drawable.draw(canvas);
+                    }
+                },
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        label = nextLabel();
+                    }
+                });
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            setLabel();
+            drawable.draw(canvas);
+            label = nextLabel();
+        }
+    }
+
+    private void setLabel() {
+        drawable.setText(LABELS[label]);
+        drawable.setTopCenter(540, 20);
+    }
+
+    private int nextLabel() {
+        return (label + 1) % LABELS.length;
+    }
+}
@@ -0,0 +1,125 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.BitSet;
+
+/**
+ * Condition wrapper which evaluates wrapped condition once per position and data change.
+ * Results are stored in two bitsets: one for known positions and one for values.
+ * <p>
+ * Cache is invalidated by adapter range events. Position right after changed range is invalidated too,
+ * so conditions which compare item with previous one (e.g. dates of adjacent items) stay correct.
+ * <p>
+ * Condition observes adapter until {@link #release()} is called.
+ */
+public class CachedCondition implements ConditionItemDecorator.Condition {
+
+    private final ConditionItemDecorator.Condition condition;
+    private final BitSet known = new BitSet();
+    private final BitSet values = new BitSet();
+    private final RecyclerView.Adapter<?> adapter;
+    private final RecyclerView.AdapterDataObserver observer;
+    private boolean released = false;
+
+    public CachedCondition(@NonNull RecyclerView.Adapter<?> adapter, @NonNull ConditionItemDecorator.Condition condition) {
+        this.condition = condition;
+        this.adapter = adapter;
+        observer = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                invalidate();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                known.clear(positionStart, positionStart + itemCount + 1);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                insertRange(known, positionStart, itemCount);
+                insertRange(values, positionStart, itemCount);
+                known.clear(positionStart + itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                removeRange(known, positionStart, itemCount);
+                removeRange(values, positionStart, itemCount);
+                known.clear(positionStart);
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                onItemRangeRemoved(fromPosition, itemCount);
+                onItemRangeInserted(toPosition, itemCount);
+            }
+        };
+        adapter.registerAdapterDataObserver(observer);
+    }
+
+    @Override
+    public boolean isForDrawOver(int position) {
+        if (known.get(position)) {
+            return values.get(position);
+        }
+
+        boolean value = condition.isForDrawOver(position);
+        known.set(position);
+        values.set(position, value);
+        return value;
+    }
+
+    /**
+     * Drop all cached results
+     */
+    public void invalidate() {
+        known.clear();
+        values.clear();
+    }
+
+    /**
+     * Unregister adapter observer. Call it when decoration with this condition is removed,
+     * otherwise adapter keeps condition and decoration alive. Condition can't be used after release.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        adapter.unregisterAdapterDataObserver(observer);
+        invalidate();
+    }
+
+    /**
+     * Shift bits starting from positionStart up by itemCount. Inserted range is cleared.
+     */
+    private static void insertRange(@NonNull BitSet bits, int positionStart, int itemCount) {
+        int length = bits.length();
+        if (length <= positionStart) {
+            return;
+        }
+        BitSet tail = bits.get(positionStart, length);
+        bits.clear(positionStart, length);
+        for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+            bits.set(positionStart + itemCount + i);
+        }
+    }
+
+    /**
+     * Remove bits of range and shift bits after range down by itemCount
+     */
+    private static void removeRange(@NonNull BitSet bits, int positionStart, int itemCount) {
+        int length = bits.length();
+        if (length <= positionStart) {
+            return;
+        }
+        BitSet tail = bits.get(positionStart + itemCount, Math.max(length, positionStart + itemCount));
+        bits.clear(positionStart, length);
+        for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+            bits.set(positionStart + i);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ConcatAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Header condition for {@link ConcatAdapter} with own condition for each sub-adapter.
+ * By default sub-adapter which implements {@link ViewHolderStickyDecoration.Condition} is used as its condition,
+ * other sub-adapters have no headers. Condition can be also set up with {@link #setCondition(RecyclerView.Adapter, ViewHolderStickyDecoration.Condition)}.
+ * <p>
+ * Header index is kept per sub-adapter in local positions and patched by sub-adapter events,
+ * so change of one sub-adapter doesn't re-scan others. Global positions are re-based by sub-adapter offsets.
+ * {@link ViewHolderStickyDecoration} binds header with sub-adapter and local position.
+ * <p>
+ * {@link ViewHolderStickyDecoration.PagedCondition} of sub-adapter is supported.
+ */
+public class ConcatCondition implements ViewHolderStickyDecoration.PagedCondition {
+
+    private final ConcatAdapter adapter;
+    private final IdentityHashMap<RecyclerView.Adapter<?>, ViewHolderStickyDecoration.Condition> conditions = new IdentityHashMap<>();
+    private final ArrayList<Part> parts = new ArrayList<>();
+    private final RecyclerView.AdapterDataObserver observer;
+    private boolean partsValid = false;
+    private boolean offsetsValid = false;
+
+    public ConcatCondition(@NonNull ConcatAdapter adapter) {
+        this.adapter = adapter;
+        observer = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                // sub-adapters could be added or removed
+                partsValid = false;
+                offsetsValid = false;
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                onChanged();
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                onChanged();
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                offsetsValid = false;
+            }
+        };
+        adapter.registerAdapterDataObserver(observer);
+    }
+
+    /**
+     * Unregister observers of {@link ConcatAdapter} and its sub-adapters.
+     * {@link ViewHolderStickyDecoration#release()} calls it for its condition. Condition can't be used after release.
+     */
+    public void release() {
+        adapter.unregisterAdapterDataObserver(observer);
+        for (Part part : parts) {
+            part.release();
+        }
+        parts.clear();
+        partsValid = false;
+        offsetsValid = false;
+    }
+
+    /**
+     * Set up header condition for sub-adapter
+     *
+     * @param adapter   sub-adapter of {@link ConcatAdapter}
+     * @param condition condition with local positions of sub-adapter
+     */
+    public void setCondition(@NonNull RecyclerView.Adapter<?> adapter, @NonNull ViewHolderStickyDecoration.Condition condition) {
+        conditions.put(adapter, condition);
+        partsValid = false;
+    }
+
+    @Override
+    public boolean isHeader(int position) {
+        return contains(position);
+    }
+
+    @Override
+    public boolean isLoaded(int position) {
+        Part part = findPart(position);
+        return part == null || HeaderIndex.isLoaded(part.condition, position - part.offset);
+    }
+
+    @Override
+    public boolean isPlaceholderHeader(int position) {
+        return contains(position);
+    }
+
+    /**
+     * Return nearest header position at or before position
+     *
+     * @param position global adapter position
+     * @return global header position or {@link RecyclerView#NO_POSITION}
+     */
+    int floor(int position) {
+        ensureParts();
+        for (int i = findPartIndex(position); i >= 0; i--) {
+            Part part = parts.get(i);
+            if (part.condition == null || part.count == 0) {
+                continue;
+            }
+            int header = part.index().floor(Math.min(position - part.offset, part.count - 1));
+            if (header != RecyclerView.NO_POSITION) {
+                return part.offset + header;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Return nearest header position at or after position
+     *
+     * @param position global adapter position
+     * @return global header position or {@link RecyclerView#NO_POSITION}
+     */
+    int ceiling(int position) {
+        ensureParts();
+        int from = findPartIndex(position);
+        if (from < 0) {
+            return RecyclerView.NO_POSITION;
+        }
+        for (int i = from; i < parts.size(); i++) {
+            Part part = parts.get(i);
+            if (part.condition == null || part.count == 0) {
+                continue;
+            }
+            int header = part.index().ceiling(Math.max(position - part.offset, 0));
+            if (header != RecyclerView.NO_POSITION) {
+                return part.offset + header;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    boolean contains(int position) {
+        Part part = findPart(position);
+        return part != null && part.condition != null && part.index().contains(position - part.offset);
+    }
+
+    /**
+     * @return sub-adapter which holds global position
+     */
+    @Nullable
+    RecyclerView.Adapter<?> getLocalAdapter(int position) {
+        Part part = findPart(position);
+        return part != null ? part.adapter : null;
+    }
+
+    /**
+     * @return position in sub-adapter for global position
+     */
+    int getLocalPosition(int position) {
+        Part part = findPart(position);
+        return part != null ? position - part.offset : RecyclerView.NO_POSITION;
+    }
+
+    @Nullable
+    private Part findPart(int position) {
+        ensureParts();
+        int index = findPartIndex(position);
+        if (index < 0) {
+            return null;
+        }
+        Part part = parts.get(index);
+        return position - part.offset < part.count ? part : null;
+    }
+
+    /**
+     * @return index of the last part which starts at or before position, -1 if there is no such part
+     */
+    private int findPartIndex(int position) {
+        for (int i = parts.size() - 1; i >= 0; i--) {
+            if (parts.get(i).offset <= position) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureParts() {
+        if (!partsValid) {
+            syncParts();
+            partsValid = true;
+            offsetsValid = false;
+        }
+        if (!offsetsValid) {
+            int offset = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                Part part = parts.get(i);
+                part.offset = offset;
+                part.count = part.adapter.getItemCount();
+                offset += part.count;
+            }
+            offsetsValid = true;
+        }
+    }
+
+    /**
+     * Match parts with current sub-adapters. Parts of remaining sub-adapters are kept with their indexes.
+     */
+    private void syncParts() {
+        List<? extends RecyclerView.Adapter<?>> adapters = adapter.getAdapters();
+        ArrayList<Part> previous = new ArrayList<>(parts);
+        parts.clear();
+        for (RecyclerView.Adapter<?> subAdapter : adapters) {
+            ViewHolderStickyDecoration.Condition condition = getCondition(subAdapter);
+            Part part = null;
+            for (int i = 0; i < previous.size(); i++) {
+                Part candidate = previous.get(i);
+                if (candidate.adapter == subAdapter && candidate.condition == condition) {
+                    part = previous.remove(i);
+                    break;
+                }
+            }
+            parts.add(part != null ? part : new Part(subAdapter, condition));
+        }
+        for (Part part : previous) {
+            part.release();
+        }
+    }
+
+    @Nullable
+    private ViewHolderStickyDecoration.Condition getCondition(@NonNull RecyclerView.Adapter<?> subAdapter) {
+        ViewHolderStickyDecoration.Condition condition = conditions.get(subAdapter);
+        if (condition == null && subAdapter instanceof ViewHolderStickyDecoration.Condition) {
+            return (ViewHolderStickyDecoration.Condition) subAdapter;
+        }
+        return condition;
+    }
+
+    private static final class Part {
+        final RecyclerView.Adapter<?> adapter;
+        @Nullable
+        final ViewHolderStickyDecoration.Condition condition;
+        final HeaderIndex index = new HeaderIndex();
+        final RecyclerView.AdapterDataObserver observer;
+        int offset;
+        int count;
+
+        Part(@NonNull RecyclerView.Adapter<?> adapter, @Nullable final ViewHolderStickyDecoration.Condition condition) {
+            this.adapter = adapter;
+            this.condition = condition;
+            observer = new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onChanged() {
+                    index.invalidate();
+                }
+
+                @Override
+                public void onItemRangeChanged(int positionStart, int itemCount) {
+                    index.onItemRangeChanged(condition, positionStart, itemCount);
+                }
+
+                @Override
+                public void onItemRangeInserted(int positionStart, int itemCount) {
+                    index.onItemRangeInserted(condition, positionStart, itemCount);
+                }
+
+                @Override
+                public void onItemRangeRemoved(int positionStart, int itemCount) {
+                    index.onItemRangeRemoved(condition, positionStart, itemCount);
+                }
+
+                @Override
+                public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                    index.onItemRangeMoved(condition, fromPosition, toPosition, itemCount);
+                }
+            };
+            if (condition != null) {
+                adapter.registerAdapterDataObserver(observer);
+            }
+        }
+
+        @NonNull
+        HeaderIndex index() {
+            if (!index.isValid()) {
+                index.build(condition, adapter.getItemCount());
+            }
+            return index;
+        }
+
+        void release() {
+            if (condition != null) {
+                adapter.unregisterAdapterDataObserver(observer);
+            }
+        }
+    }
+}
@@ -5,7 +5,9 @@ import android.graphics.Rect;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.tracing.Trace;
 
 /**
  * An ConditionItemDecorator allows the application to add a special
@@ -18,14 +20,45 @@ public class ConditionItemDecorator extends RecyclerView.ItemDecoration {
 
     private final Condition condition;
     private final Decor decor;
+    private final DrawFrame frame = new DrawFrame();
+    private final DecorationMetrics metrics = new DecorationMetrics();
+    @Nullable
+    private DecorationMetrics.Listener metricsListener;
 
     public ConditionItemDecorator(@NonNull Condition condition, @NonNull Decor decor) {
         this.condition = condition;
         this.decor = decor;
     }
 
+    /**
+     * Set up listener of per-frame metrics: offsets and draw timings.
+     * Without listener metrics are not collected.
+     *
+     * @param listener metrics listener or null to stop collecting
+     */
+    public void setMetricsListener(@Nullable DecorationMetrics.Listener listener) {
+        metricsListener = listener;
+        metrics.reset();
+    }
+
     @Override
     public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        boolean trace = Trace.isEnabled();
+        if (trace) {
+            Trace.beginSection(DecorationMetrics.TRACE_OFFSETS);
+        }
+        DecorationMetrics.Listener listener = metricsListener;
+        long start = listener != null ? System.nanoTime() : 0;
+        getItemOffsetsInternal(outRect, view, parent, state);
+        if (listener != null) {
+            metrics.offsetsNanos += System.nanoTime() - start;
+        }
+        if (trace) {
+            Trace.endSection();
+        }
+    }
+
+    private void getItemOffsetsInternal(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         int position = parent.getChildAdapterPosition(view);
         if (position != RecyclerView.NO_POSITION) {
             if (condition.isForDrawOver(position)) {
@@ -37,16 +70,44 @@ public class ConditionItemDecorator extends RecyclerView.ItemDecoration {
 
     @Override
     public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        boolean trace = Trace.isEnabled();
+        if (trace) {
+            Trace.beginSection(DecorationMetrics.TRACE_DRAW);
+        }
+        DecorationMetrics.Listener listener = metricsListener;
+        long start = listener != null ? System.nanoTime() : 0;
+        drawOver(c, parent, state);
+        if (listener != null) {
+            metrics.drawNanos += System.nanoTime() - start;
+            listener.onFrameMetrics(metrics);
+            metrics.reset();
+        }
+        if (trace) {
+            Trace.endSection();
+        }
+    }
+
+    private void drawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         if (state.getItemCount() == 0) {
             return;
         }
 
+        frame.collect(parent, condition);
         decor.prepareDrawOver(c, parent, state);
-        for (int i = 0; i < parent.getChildCount(); i++) {
-            View child = parent.getChildAt(i);
-            int index = parent.getChildAdapterPosition(child);
-            if (condition.isForDrawOver(index)) {
-                decor.onDrawOver(c, parent, child, index, state);
+        if (decor instanceof FrameDecor) {
+            FrameDecor frameDecor = (FrameDecor) decor;
+            for (int i = 0; i < frame.getCount(); i++) {
+                if (frame.isForDrawOver(i)) {
+                    frameDecor.onDrawOver(c, parent, frame, i, state);
+                }
+            }
+            frameDecor.onPostDrawOver(c, parent, frame, state);
+            return;
+        }
+
+        for (int i = 0; i < frame.getCount(); i++) {
+            if (frame.isForDrawOver(i)) {
+                decor.onDrawOver(c, parent, frame.getChild(i), frame.getPosition(i), state);
             }
         }
         decor.onPostDrawOver(c, parent, state);
@@ -62,6 +123,23 @@ public class ConditionItemDecorator extends RecyclerView.ItemDecoration {
         boolean isForDrawOver(int position);
     }
 
+    /**
+     * Condition which can evaluate contiguous range of positions in one call, e.g. condition backed by
+     * database cursor or paging snapshot. Visible window is evaluated with one call per frame.
+     */
+    public interface RangeCondition extends Condition {
+
+        /**
+         * Evaluate {@link #isForDrawOver(int)} for positions from positionStart to positionStart + itemCount - 1
+         *
+         * @param positionStart first adapter position of range
+         * @param itemCount     count of positions in range
+         * @param out           array to fill, out[i] is result for position positionStart + i.
+         *                      Array length may be greater than itemCount
+         */
+        void fillForDrawOver(int positionStart, int itemCount, @NonNull boolean[] out);
+    }
+
     public interface Decor {
 
         /**
@@ -135,6 +213,36 @@ public class ConditionItemDecorator extends RecyclerView.ItemDecoration {
         void getItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position, @NonNull RecyclerView.State state);
     }
 
+    /**
+     * Decor which receives {@link DrawFrame} collected once per frame instead of querying RecyclerView for each child.
+     * For this decor {@link ConditionItemDecorator} calls frame callbacks
+     * instead of {@link Decor#onDrawOver(Canvas, RecyclerView, View, int, RecyclerView.State)}
+     * and {@link Decor#onPostDrawOver(Canvas, RecyclerView, RecyclerView.State)}
+     */
+    public interface FrameDecor extends Decor {
+
+        /**
+         * Draw decoration for child which satisfies condition {@link ConditionItemDecorator.Condition#isForDrawOver(int)}.
+         *
+         * @param c      Canvas to draw into
+         * @param parent RecyclerView this Decor is drawing into
+         * @param frame  Children snapshot of current frame
+         * @param index  Child index in frame
+         * @param state  The current state for RecyclerView
+         */
+        void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull DrawFrame frame, int index, @NonNull RecyclerView.State state);
+
+        /**
+         * Called once after all {@link FrameDecor#onDrawOver(Canvas, RecyclerView, DrawFrame, int, RecyclerView.State)}
+         *
+         * @param c      Canvas to draw into
+         * @param parent RecyclerView this Decor is drawing into
+         * @param frame  Children snapshot of current frame
+         * @param state  The current state for RecyclerView
+         */
+        void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull DrawFrame frame, @NonNull RecyclerView.State state);
+    }
+
     public static abstract class SimpleDecor implements Decor {
 
         @Override
@@ -0,0 +1,111 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Per-frame metrics of decoration. Single instance is reused and reset after every
+ * {@link Listener#onFrameMetrics(DecorationMetrics)} call, so don't keep reference to it.
+ * <p>
+ * Offsets are computed in layout pass, so they are reported with the next drawn frame.
+ * Metrics are collected only when listener is set up, without listener decoration doesn't read clock or update counters.
+ * Trace sections are opened only while tracing is enabled.
+ */
+public final class DecorationMetrics {
+    static final String TRACE_OFFSETS = "StickyDecorator:offsets";
+    static final String TRACE_DRAW = "StickyDecorator:draw";
+    static final String TRACE_BIND = "StickyDecorator:bind";
+    static final String TRACE_MEASURE = "StickyDecorator:measure";
+
+    long offsetsNanos;
+    long drawNanos;
+    long bindNanos;
+    long measureNanos;
+    int headerRebinds;
+    int headerCreations;
+    int headerCacheHits;
+    int headerCacheMisses;
+
+    /**
+     * @return time spent in item offsets since previous frame in nanoseconds
+     */
+    public long getOffsetsNanos() {
+        return offsetsNanos;
+    }
+
+    /**
+     * @return time spent in drawing in nanoseconds, including header bind and measure
+     */
+    public long getDrawNanos() {
+        return drawNanos;
+    }
+
+    /**
+     * @return time spent in header binding in nanoseconds
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    /**
+     * @return time spent in header measuring in nanoseconds
+     */
+    public long getMeasureNanos() {
+        return measureNanos;
+    }
+
+    /**
+     * @return count of header binds in to existing or pooled holder
+     */
+    public int getHeaderRebinds() {
+        return headerRebinds;
+    }
+
+    /**
+     * @return count of created header holders
+     */
+    public int getHeaderCreations() {
+        return headerCreations;
+    }
+
+    /**
+     * @return count of frames where pinned header was taken from cache without binding
+     */
+    public int getHeaderCacheHits() {
+        return headerCacheHits;
+    }
+
+    /**
+     * @return count of frames where pinned header had to be bound
+     */
+    public int getHeaderCacheMisses() {
+        return headerCacheMisses;
+    }
+
+    /**
+     * @return ratio of header cache hits from 0 to 1, or 1 if header wasn't requested
+     */
+    public float getHeaderCacheHitRatio() {
+        int total = headerCacheHits + headerCacheMisses;
+        return total == 0 ? 1f : headerCacheHits / (float) total;
+    }
+
+    void reset() {
+        offsetsNanos = 0;
+        drawNanos = 0;
+        bindNanos = 0;
+        measureNanos = 0;
+        headerRebinds = 0;
+        headerCreations = 0;
+        headerCacheHits = 0;
+        headerCacheMisses = 0;
+    }
+
+    public interface Listener {
+        /**
+         * Called on UI thread after each drawn frame of decoration
+         *
+         * @param metrics metrics of frame, valid only during this call
+         */
+        void onFrameMetrics(@NonNull DecorationMetrics metrics);
+    }
+}
@@ -0,0 +1,160 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of RecyclerView's children collected once per frame by {@link ConditionItemDecorator}.
+ * Holds adapter position, decorated bounds with margins (without translation) and condition result for each child,
+ * so decors don't need to query RecyclerView again for the same children.
+ * <p>
+ * Snapshot is backed by primitive arrays which grow only when child count grows, so collecting it does not allocate.
+ * Children are stored in RecyclerView's child order.
+ */
+public final class DrawFrame {
+    private final Rect bounds = new Rect();
+
+    private View[] children = new View[0];
+    private int[] positions = new int[0];
+    private int[] lefts = new int[0];
+    private int[] tops = new int[0];
+    private int[] rights = new int[0];
+    private int[] bottoms = new int[0];
+    private boolean[] forDrawOver = new boolean[0];
+    private boolean[] rangeBuffer = new boolean[0];
+    private int count = 0;
+
+    void collect(@NonNull RecyclerView parent, @NonNull ConditionItemDecorator.Condition condition) {
+        int childCount = parent.getChildCount();
+        ensureCapacity(childCount);
+        for (int i = 0; i < childCount; i++) {
+            View child = parent.getChildAt(i);
+            int position = parent.getChildAdapterPosition(child);
+            parent.getDecoratedBoundsWithMargins(child, bounds);
+            children[i] = child;
+            positions[i] = position;
+            lefts[i] = bounds.left;
+            tops[i] = bounds.top;
+            rights[i] = bounds.right;
+            bottoms[i] = bounds.bottom;
+        }
+        if (count > childCount) {
+            // don't keep references to views from previous frame
+            Arrays.fill(children, childCount, count, null);
+        }
+        count = childCount;
+
+        if (condition instanceof ConditionItemDecorator.RangeCondition) {
+            fillConditionRange((ConditionItemDecorator.RangeCondition) condition);
+            return;
+        }
+        for (int i = 0; i < childCount; i++) {
+            forDrawOver[i] = positions[i] != RecyclerView.NO_POSITION && condition.isForDrawOver(positions[i]);
+        }
+    }
+
+    /**
+     * Evaluate condition for whole visible window with one call
+     */
+    private void fillConditionRange(@NonNull ConditionItemDecorator.RangeCondition condition) {
+        int first = Integer.MAX_VALUE;
+        int last = RecyclerView.NO_POSITION;
+        for (int i = 0; i < count; i++) {
+            int position = positions[i];
+            if (position != RecyclerView.NO_POSITION) {
+                first = Math.min(first, position);
+                last = Math.max(last, position);
+            }
+        }
+        if (last == RecyclerView.NO_POSITION) {
+            Arrays.fill(forDrawOver, 0, count, false);
+            return;
+        }
+
+        int rangeCount = last - first + 1;
+        if (rangeBuffer.length < rangeCount) {
+            rangeBuffer = new boolean[rangeCount];
+        }
+        condition.fillForDrawOver(first, rangeCount, rangeBuffer);
+        for (int i = 0; i < count; i++) {
+            int position = positions[i];
+            forDrawOver[i] = position != RecyclerView.NO_POSITION && rangeBuffer[position - first];
+        }
+    }
+
+    /**
+     * @return count of children in this frame
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param index child index
+     * @return RecyclerView's child view
+     */
+    @NonNull
+    public View getChild(int index) {
+        return children[index];
+    }
+
+    /**
+     * @param index child index
+     * @return adapter position of child or {@link RecyclerView#NO_POSITION}
+     */
+    public int getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * @param index child index
+     * @return result of {@link ConditionItemDecorator.Condition#isForDrawOver(int)} for child
+     */
+    public boolean isForDrawOver(int index) {
+        return forDrawOver[index];
+    }
+
+    public int getDecoratedLeft(int index) {
+        return lefts[index];
+    }
+
+    public int getDecoratedTop(int index) {
+        return tops[index];
+    }
+
+    public int getDecoratedRight(int index) {
+        return rights[index];
+    }
+
+    public int getDecoratedBottom(int index) {
+        return bottoms[index];
+    }
+
+    /**
+     * Copy child bounds including its decoration and margins in to rect
+     *
+     * @param index child index
+     * @param out   Rect to receive the output
+     */
+    public void getDecoratedBounds(int index, @NonNull Rect out) {
+        out.set(lefts[index], tops[index], rights[index], bottoms[index]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= positions.length) {
+            return;
+        }
+        children = Arrays.copyOf(children, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        tops = Arrays.copyOf(tops, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        bottoms = Arrays.copyOf(bottoms, capacity);
+        forDrawOver = Arrays.copyOf(forDrawOver, capacity);
+    }
+}
@@ -0,0 +1,66 @@
+package com.osome.stickydecorator;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Binds and measures header view holders of view holder based decorations.
+ * Header holders are not attached to RecyclerView, so they are bound and laid out by hand.
+ */
+final class HeaderBinder {
+
+    private HeaderBinder() {
+    }
+
+    /**
+     * Bind item in to slot. Holder of slot is re-bound if it has the same view type, otherwise it is returned
+     * in to pool and holder is taken from pool or created. Bound holder is not measured.
+     *
+     * @param concatCondition condition of {@link androidx.recyclerview.widget.ConcatAdapter} or null.
+     *                        Item is bound with its sub-adapter directly then, because ConcatAdapter
+     *                        would track header holder as bound to it
+     * @return true if new holder was created
+     */
+    @SuppressWarnings("unchecked")
+    static boolean bind(@NonNull RecyclerView.Adapter adapter, @NonNull RecyclerView parent, @NonNull RecyclerView.RecycledViewPool pool,
+                        @NonNull HeaderSlot slot, int position, int viewType, @Nullable ConcatCondition concatCondition) {
+        RecyclerView.ViewHolder holder = slot.holder;
+        boolean created = false;
+        if (!slot.hasViewType(viewType)) {
+            slot.release(pool);
+            holder = pool.getRecycledView(viewType);
+            if (holder == null) {
+                holder = adapter.createViewHolder(parent, viewType);
+                created = true;
+            }
+        }
+        RecyclerView.Adapter localAdapter = concatCondition != null ? concatCondition.getLocalAdapter(position) : null;
+        if (localAdapter != null) {
+            localAdapter.onBindViewHolder(holder, concatCondition.getLocalPosition(position));
+        } else {
+            adapter.onBindViewHolder(holder, position);
+        }
+        slot.set(holder, position);
+        return created;
+    }
+
+    /**
+     * Measure and lay out header view with parent width in vertical orientation or parent height in horizontal one
+     */
+    static void measure(@NonNull ViewGroup parent, @NonNull View view, boolean vertical) {
+        // Specs for parent (RecyclerView)
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(parent.getWidth(), vertical ? View.MeasureSpec.EXACTLY : View.MeasureSpec.UNSPECIFIED);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(parent.getHeight(), vertical ? View.MeasureSpec.UNSPECIFIED : View.MeasureSpec.EXACTLY);
+
+        // Specs for children (headers)
+        int childWidthSpec = ViewGroup.getChildMeasureSpec(widthSpec, parent.getPaddingLeft() + parent.getPaddingRight(), view.getLayoutParams().width);
+        int childHeightSpec = ViewGroup.getChildMeasureSpec(heightSpec, parent.getPaddingTop() + parent.getPaddingBottom(), view.getLayoutParams().height);
+
+        view.measure(childWidthSpec, childHeightSpec);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+}
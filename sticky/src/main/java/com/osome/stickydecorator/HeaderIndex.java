@@ -0,0 +1,263 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Sorted index of header adapter positions backed by primitive int array.
+ * Index is built once by full scan and then patched from adapter range events,
+ * so lookup of the nearest header is binary search without allocations.
+ * Neighbours of patched range are evaluated again, so conditions which compare item with previous
+ * or next one (e.g. "date differs from previous item") stay correct.
+ * <p>
+ * For {@link ViewHolderStickyDecoration.PagedCondition} not loaded positions are never passed to
+ * {@link ViewHolderStickyDecoration.Condition#isHeader(int)}, placeholder headers are taken from section metadata instead.
+ */
+final class HeaderIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int RANGE_CHUNK = 256;
+
+    private int[] headers = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private int itemCount = 0;
+    private boolean valid = false;
+    private boolean[] rangeBuffer;
+
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Mark index as dirty. Index will be rebuilt on next {@link #build(ViewHolderStickyDecoration.Condition, int)}
+     */
+    void invalidate() {
+        valid = false;
+        size = 0;
+    }
+
+    /**
+     * Scan all adapter positions and collect headers
+     *
+     * @param condition header condition
+     * @param itemCount adapter item count
+     */
+    void build(@NonNull ViewHolderStickyDecoration.Condition condition, int itemCount) {
+        size = 0;
+        this.itemCount = itemCount;
+        addHeaders(condition, 0, itemCount);
+        valid = true;
+    }
+
+    /**
+     * Return nearest header position at or before position
+     *
+     * @param position adapter position
+     * @return header position or {@link RecyclerView#NO_POSITION}
+     */
+    int floor(int position) {
+        int index = search(position);
+        if (index >= 0) {
+            return headers[index];
+        }
+        int insertion = -index - 1;
+        return insertion > 0 ? headers[insertion - 1] : RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Return nearest header position at or after position
+     *
+     * @param position adapter position
+     * @return header position or {@link RecyclerView#NO_POSITION}
+     */
+    int ceiling(int position) {
+        int index = search(position);
+        if (index >= 0) {
+            return headers[index];
+        }
+        int insertion = -index - 1;
+        return insertion < size ? headers[insertion] : RecyclerView.NO_POSITION;
+    }
+
+    boolean contains(int position) {
+        return search(position) >= 0;
+    }
+
+    void onItemRangeInserted(@NonNull ViewHolderStickyDecoration.Condition condition, int positionStart, int itemCount) {
+        if (!valid) {
+            return;
+        }
+        shiftInserted(positionStart, itemCount);
+        addHeaders(condition, positionStart, itemCount);
+        recheck(condition, positionStart - 1);
+        recheck(condition, positionStart + itemCount);
+    }
+
+    void onItemRangeRemoved(@NonNull ViewHolderStickyDecoration.Condition condition, int positionStart, int itemCount) {
+        if (!valid) {
+            return;
+        }
+        shiftRemoved(positionStart, itemCount);
+        recheck(condition, positionStart - 1);
+        recheck(condition, positionStart);
+    }
+
+    void onItemRangeChanged(@NonNull ViewHolderStickyDecoration.Condition condition, int positionStart, int itemCount) {
+        if (!valid) {
+            return;
+        }
+        removeRange(lowerBound(positionStart), lowerBound(positionStart + itemCount));
+        addHeaders(condition, positionStart, itemCount);
+        recheck(condition, positionStart - 1);
+        recheck(condition, positionStart + itemCount);
+    }
+
+    void onItemRangeMoved(@NonNull ViewHolderStickyDecoration.Condition condition, int fromPosition, int toPosition, int itemCount) {
+        if (!valid) {
+            return;
+        }
+        // condition sees data after move, so positions are shifted first and neighbours are checked in final positions
+        shiftRemoved(fromPosition, itemCount);
+        shiftInserted(toPosition, itemCount);
+        addHeaders(condition, toPosition, itemCount);
+        recheck(condition, toPosition - 1);
+        recheck(condition, toPosition + itemCount);
+        // items around the old place of moved range became neighbours
+        int joined = toPosition <= fromPosition ? fromPosition + itemCount : fromPosition;
+        recheck(condition, joined - 1);
+        recheck(condition, joined);
+    }
+
+    private void shiftInserted(int positionStart, int itemCount) {
+        for (int i = lowerBound(positionStart); i < size; i++) {
+            headers[i] += itemCount;
+        }
+        this.itemCount += itemCount;
+    }
+
+    private void shiftRemoved(int positionStart, int itemCount) {
+        int from = lowerBound(positionStart);
+        removeRange(from, lowerBound(positionStart + itemCount));
+        for (int i = from; i < size; i++) {
+            headers[i] -= itemCount;
+        }
+        this.itemCount -= itemCount;
+    }
+
+    /**
+     * Evaluate position outside of patched range again, its neighbour has changed
+     */
+    private void recheck(@NonNull ViewHolderStickyDecoration.Condition condition, int position) {
+        if (position < 0 || position >= itemCount) {
+            return;
+        }
+        int index = search(position);
+        boolean header = isHeader(condition, position);
+        if (header && index < 0) {
+            insertAt(-index - 1, position);
+        } else if (!header && index >= 0) {
+            removeRange(index, index + 1);
+        }
+    }
+
+    private boolean isHeader(@NonNull ViewHolderStickyDecoration.Condition condition, int position) {
+        if (condition instanceof ViewHolderStickyDecoration.PagedCondition) {
+            ViewHolderStickyDecoration.PagedCondition paged = (ViewHolderStickyDecoration.PagedCondition) condition;
+            return paged.isLoaded(position) ? paged.isHeader(position) : paged.isPlaceholderHeader(position);
+        }
+        if (condition instanceof ViewHolderStickyDecoration.RangeCondition) {
+            if (rangeBuffer == null) {
+                rangeBuffer = new boolean[RANGE_CHUNK];
+            }
+            ((ViewHolderStickyDecoration.RangeCondition) condition).fillHeaders(position, 1, rangeBuffer);
+            return rangeBuffer[0];
+        }
+        return condition.isHeader(position);
+    }
+
+    private void addHeaders(@NonNull ViewHolderStickyDecoration.Condition condition, int positionStart, int itemCount) {
+        int index = lowerBound(positionStart);
+        if (condition instanceof ViewHolderStickyDecoration.PagedCondition) {
+            addHeaders((ViewHolderStickyDecoration.PagedCondition) condition, index, positionStart, itemCount);
+            return;
+        }
+        if (condition instanceof ViewHolderStickyDecoration.RangeCondition) {
+            addHeaders((ViewHolderStickyDecoration.RangeCondition) condition, index, positionStart, itemCount);
+            return;
+        }
+        for (int position = positionStart; position < positionStart + itemCount; position++) {
+            if (condition.isHeader(position)) {
+                insertAt(index++, position);
+            }
+        }
+    }
+
+    private void addHeaders(@NonNull ViewHolderStickyDecoration.PagedCondition condition, int index, int positionStart, int itemCount) {
+        for (int position = positionStart; position < positionStart + itemCount; position++) {
+            boolean header = condition.isLoaded(position) ?
+                    condition.isHeader(position) :
+                    condition.isPlaceholderHeader(position);
+            if (header) {
+                insertAt(index++, position);
+            }
+        }
+    }
+
+    /**
+     * @return false if position is placeholder of {@link ViewHolderStickyDecoration.PagedCondition}, so it can't be bound
+     */
+    static boolean isLoaded(@NonNull ViewHolderStickyDecoration.Condition condition, int position) {
+        return !(condition instanceof ViewHolderStickyDecoration.PagedCondition)
+                || ((ViewHolderStickyDecoration.PagedCondition) condition).isLoaded(position);
+    }
+
+    private void addHeaders(@NonNull ViewHolderStickyDecoration.RangeCondition condition, int index, int positionStart, int itemCount) {
+        if (rangeBuffer == null) {
+            rangeBuffer = new boolean[RANGE_CHUNK];
+        }
+        int end = positionStart + itemCount;
+        for (int chunkStart = positionStart; chunkStart < end; chunkStart += RANGE_CHUNK) {
+            int chunkCount = Math.min(RANGE_CHUNK, end - chunkStart);
+            condition.fillHeaders(chunkStart, chunkCount, rangeBuffer);
+            for (int i = 0; i < chunkCount; i++) {
+                if (rangeBuffer[i]) {
+                    insertAt(index++, chunkStart + i);
+                }
+            }
+        }
+    }
+
+    private int search(int position) {
+        return Arrays.binarySearch(headers, 0, size, position);
+    }
+
+    /**
+     * @return index of first header which is greater or equal than position
+     */
+    private int lowerBound(int position) {
+        int index = search(position);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void insertAt(int index, int position) {
+        ensureCapacity(size + 1);
+        System.arraycopy(headers, index, headers, index + 1, size - index);
+        headers[index] = position;
+        size++;
+    }
+
+    private void removeRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        System.arraycopy(headers, to, headers, from, size - to);
+        size -= to - from;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > headers.length) {
+            headers = Arrays.copyOf(headers, Math.max(capacity, headers.length * 2));
+        }
+    }
+}
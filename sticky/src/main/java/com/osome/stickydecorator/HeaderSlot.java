@@ -0,0 +1,92 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Header view holder with adapter position it bound to.
+ * Position is shifted by adapter range events, so holder stays valid after inserts, removes and moves.
+ */
+final class HeaderSlot {
+    @Nullable
+    RecyclerView.ViewHolder holder;
+    int position = RecyclerView.NO_POSITION;
+    boolean dirty = false;
+    final HeaderSnapshot snapshot = new HeaderSnapshot();
+
+    /**
+     * @return true if slot holds up-to-date holder for position and view type
+     */
+    boolean isBoundTo(int position, int viewType) {
+        return holder != null && !dirty && this.position == position && holder.getItemViewType() == viewType;
+    }
+
+    boolean hasViewType(int viewType) {
+        return holder != null && holder.getItemViewType() == viewType;
+    }
+
+    void set(@NonNull RecyclerView.ViewHolder holder, int position) {
+        this.holder = holder;
+        this.position = position;
+        this.dirty = false;
+        snapshot.invalidate();
+    }
+
+    /**
+     * Return holder in to pool and clear slot
+     *
+     * @param pool pool for header holders
+     */
+    void release(@NonNull RecyclerView.RecycledViewPool pool) {
+        if (holder != null) {
+            pool.putRecycledView(holder);
+        }
+        holder = null;
+        position = RecyclerView.NO_POSITION;
+        dirty = false;
+        snapshot.invalidate();
+    }
+
+    void onItemRangeChanged(int positionStart, int itemCount) {
+        if (isInRange(position, positionStart, itemCount)) {
+            dirty = true;
+        }
+    }
+
+    void onItemRangeInserted(int positionStart, int itemCount) {
+        if (position != RecyclerView.NO_POSITION && position >= positionStart) {
+            position += itemCount;
+        }
+    }
+
+    void onItemRangeRemoved(int positionStart, int itemCount) {
+        if (isInRange(position, positionStart, itemCount)) {
+            // keep holder to rebind it for another position
+            position = RecyclerView.NO_POSITION;
+            dirty = true;
+        } else if (position >= positionStart + itemCount) {
+            position -= itemCount;
+        }
+    }
+
+    void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        if (isInRange(position, fromPosition, itemCount)) {
+            position += toPosition - fromPosition;
+            return;
+        }
+        if (position >= fromPosition + itemCount) {
+            position -= itemCount;
+        }
+        if (position >= toPosition) {
+            position += itemCount;
+        }
+    }
+
+    private static boolean isInRange(int position, int positionStart, int itemCount) {
+        return position >= positionStart && position < positionStart + itemCount;
+    }
+}
@@ -0,0 +1,102 @@
+package com.osome.stickydecorator;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Recorded header drawing which is replayed every frame.
+ * Uses {@link RenderNode} on API 29+ with hardware canvas and bitmap cache otherwise.
+ * Header is re-recorded after {@link #invalidate()}, which is called on every header bind and by
+ * {@link ViewHolderStickyDecoration#invalidateHeader()}. Dirty flag of header view is checked too,
+ * but it isn't reliable for detached header: invalidation of nested views may not reach it.
+ */
+final class HeaderSnapshot {
+    @Nullable
+    private RenderNode renderNode;
+    @Nullable
+    private Bitmap bitmap;
+    @Nullable
+    private Canvas bitmapCanvas;
+    private boolean valid = false;
+
+    void invalidate() {
+        valid = false;
+    }
+
+    void draw(@NonNull Canvas c, @NonNull View header) {
+        int width = header.getWidth();
+        int height = header.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        if (header.isDirty()) {
+            valid = false;
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && c.isHardwareAccelerated()) {
+            drawRenderNode(c, header, width, height);
+        } else {
+            drawBitmap(c, header, width, height);
+        }
+    }
+
+    /**
+     * Drop recorded drawing and free bitmap
+     */
+    void release() {
+        valid = false;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && renderNode != null) {
+            renderNode.discardDisplayList();
+        }
+        if (bitmap != null) {
+            bitmap.recycle();
+            bitmap = null;
+            bitmapCanvas = null;
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.Q)
+    private void drawRenderNode(@NonNull Canvas c, @NonNull View header, int width, int height) {
+        if (renderNode == null) {
+            renderNode = new RenderNode("StickyHeader");
+        }
+        if (!valid || !renderNode.hasDisplayList() || renderNode.getWidth() != width || renderNode.getHeight() != height) {
+            renderNode.setPosition(0, 0, width, height);
+            RecordingCanvas recordingCanvas = renderNode.beginRecording(width, height);
+            try {
+                header.draw(recordingCanvas);
+            } finally {
+                renderNode.endRecording();
+            }
+            valid = true;
+        }
+        c.drawRenderNode(renderNode);
+    }
+
+    private void drawBitmap(@NonNull Canvas c, @NonNull View header, int width, int height) {
+        if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+            if (bitmap != null) {
+                bitmap.recycle();
+            }
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            bitmapCanvas = new Canvas(bitmap);
+            valid = false;
+        }
+        if (!valid) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+            header.draw(bitmapCanvas);
+            valid = true;
+        }
+        c.drawBitmap(bitmap, 0, 0, null);
+    }
+}
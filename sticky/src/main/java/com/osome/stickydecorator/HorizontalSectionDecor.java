@@ -0,0 +1,275 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Draws sections decoration for horizontal layout. Section is drawn on the leading side of item:
+ * on the left, or on the right in RTL layout direction.
+ * By default decor draw full height and width allocated in {@link ConditionItemDecorator.Decor#getConditionItemOffsets(RecyclerView, Rect, View, int)}
+ * <p>
+ * Frame callbacks call per-child {@link #onDrawOver(Canvas, RecyclerView, View, int, RecyclerView.State)} and
+ * {@link #onPostDrawOver(Canvas, RecyclerView, RecyclerView.State)}, so subclass can override any of them.
+ * While frame is drawn {@link #getDecoratedViewBounds(RecyclerView, View)} takes bounds from {@link DrawFrame} snapshot.
+ * <p>
+ * In RTL layout direction section margins are mirrored: {@link #getSectionMarginLeft()} is applied on the right side
+ * of section and {@link #getSectionMarginRight()} between section and item.
+ */
+public abstract class HorizontalSectionDecor implements ConditionItemDecorator.FrameDecor {
+
+    protected final Rect decoratedBounds = new Rect();
+    protected final Rect viewBounds = new Rect();
+    private Rect sectionBounds = new Rect();
+    private boolean rtl = false;
+    private int parentWidth = 0;
+    @Nullable
+    private DrawFrame drawFrame;
+    private int frameIndex = -1;
+    private final SectionSizeCache sizeCache = new SectionSizeCache(new Runnable() {
+        @Override
+        public void run() {
+            onOffsetsInvalidated();
+        }
+    });
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull View child, int position, @NonNull RecyclerView.State state) {
+        Rect decoratedBounds = getDecoratedViewBounds(parent, child);
+        Rect bounds = getViewBounds(parent, child);
+        onDrawSectionInternal(c, position, getSectionBounds(parent, position, bounds, decoratedBounds), child);
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull DrawFrame frame, int index, @NonNull RecyclerView.State state) {
+        drawFrame = frame;
+        frameIndex = index;
+        onDrawOver(c, parent, frame.getChild(index), frame.getPosition(index), state);
+        drawFrame = null;
+        frameIndex = -1;
+    }
+
+    /**
+     * Returns the bounds of the view including its decoration and margins.
+     * This bounds also include view translations
+     *
+     * @param child The view element to check
+     * @return The bounds of the view including its decoration and margins.
+     */
+    protected Rect getDecoratedViewBounds(@NonNull RecyclerView parent, @NonNull View child) {
+        if (drawFrame != null && frameIndex >= 0 && drawFrame.getChild(frameIndex) == child) {
+            // bounds are already collected in frame
+            drawFrame.getDecoratedBounds(frameIndex, decoratedBounds);
+        } else {
+            parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
+        }
+        addTranslationOffsetToViewBounds(child, decoratedBounds);
+        return decoratedBounds;
+    }
+
+    void onDrawSectionInternal(@NonNull Canvas c, int position, @NonNull Rect sectionBounds, @NonNull View child) {
+        onDrawSection(c, position, sectionBounds, child);
+    }
+
+    protected abstract void onDrawSection(@NonNull Canvas c, int position, @NonNull Rect sectionBounds, @NonNull View child);
+
+    /**
+     * Get view bounds without decoration offsets
+     *
+     * @param parent - current recycler view
+     * @param child  - itemView from recycler view
+     * @return real view bounds without decoration offsets
+     */
+    protected Rect getViewBounds(@NonNull RecyclerView parent, @NonNull View child) {
+        child.getDrawingRect(viewBounds);
+        parent.offsetDescendantRectToMyCoords(child, viewBounds);
+        addTranslationOffsetToViewBounds(child, viewBounds);
+        return viewBounds;
+    }
+
+    /**
+     * Add view translation to bound to support {@link androidx.recyclerview.widget.DefaultItemAnimator}
+     *
+     * @param child      - itemView from recycler
+     * @param viewBounds - current itemView bounds without decoration offsets
+     */
+    protected void addTranslationOffsetToViewBounds(@NonNull View child, @NonNull Rect viewBounds) {
+        viewBounds.offset((int) child.getTranslationX(), (int) child.getTranslationY());
+    }
+
+    @NonNull
+    protected Rect getSectionBounds(@NonNull RecyclerView parent, int position, @NonNull Rect viewBounds, @NonNull Rect decoratedBounds) {
+        int left = rtl ? viewBounds.right + getSectionMarginRight() : decoratedBounds.left + getSectionMarginLeft();
+        int top = viewBounds.top;
+        int right = rtl ? decoratedBounds.right - getSectionMarginLeft() : viewBounds.left - getSectionMarginRight();
+        int bottom = viewBounds.bottom;
+        sectionBounds.set(left, top, right, bottom);
+        return sectionBounds;
+    }
+
+    @Override
+    public void prepareDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        rtl = isRtl(parent);
+        parentWidth = parent.getWidth();
+    }
+
+    @Override
+    public void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+
+    }
+
+    @Override
+    public void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull DrawFrame frame, @NonNull RecyclerView.State state) {
+        drawFrame = frame;
+        onPostDrawOver(c, parent, state);
+        drawFrame = null;
+    }
+
+    /**
+     * @return frame snapshot while frame callback is running, null if decor is called per child
+     */
+    @Nullable
+    DrawFrame getDrawFrame() {
+        return drawFrame;
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position, @NonNull RecyclerView.State state) {
+
+    }
+
+    @Override
+    public void getConditionItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position) {
+        int offset = getSectionWidthInternal(parent, position) + getSectionMarginLeft() + getSectionMarginRight();
+        if (isRtl(parent)) {
+            rect.right += offset;
+        } else {
+            rect.left += offset;
+        }
+    }
+
+    static boolean isRtl(@NonNull RecyclerView parent) {
+        return parent.getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+    }
+
+    /**
+     * @return true if layout direction of RecyclerView was RTL on the last drawn frame
+     */
+    boolean isRtl() {
+        return rtl;
+    }
+
+    /**
+     * Convert leading coordinate, which is distance from the leading edge of RecyclerView (the left edge,
+     * or the right edge in RTL), in to RecyclerView coordinate
+     */
+    int fromLeading(int leading) {
+        return rtl ? parentWidth - leading : leading;
+    }
+
+    /**
+     * @return leading coordinate of bounds edge which is closer to the leading edge of RecyclerView
+     */
+    int getLeadingStart(int left, int right) {
+        return rtl ? parentWidth - right : left;
+    }
+
+    /**
+     * @return leading coordinate of bounds edge which is farther from the leading edge of RecyclerView
+     */
+    int getLeadingEnd(int left, int right) {
+        return rtl ? parentWidth - left : right;
+    }
+
+    /**
+     * Enable cached offsets. Section widths are requested once per section and data or height change
+     * and stored per section in primitive array, so layout pass doesn't measure sections again.
+     * Adapter range events drop only widths of touched sections and shift the rest, full change and
+     * RecyclerView height change drop the whole cache. Call {@link #invalidateOffsets()} if section width
+     * depends on something else.
+     *
+     * @param enabled true to cache section widths, false otherwise
+     */
+    public void setOffsetsCacheEnabled(boolean enabled) {
+        sizeCache.setEnabled(enabled);
+    }
+
+    /**
+     * Drop cached section widths, they will be requested again on next layout pass
+     */
+    public void invalidateOffsets() {
+        sizeCache.invalidate();
+    }
+
+    void onOffsetsInvalidated() {
+    }
+
+    boolean isOffsetsCacheEnabled() {
+        return sizeCache.isEnabled();
+    }
+
+    /**
+     * Keep cache bound to current adapter and height of RecyclerView
+     */
+    void validateOffsets(@NonNull RecyclerView parent) {
+        sizeCache.validate(parent, parent.getHeight());
+    }
+
+    void putDrawnSectionWidth(int position, int width) {
+        sizeCache.putDrawnSize(position, width);
+    }
+
+    /**
+     * Drawn width of section which owns item at position: the nearest section before it
+     * or after it in reversed layout
+     *
+     * @return section width or {@link SectionHeights#MISSING} if section wasn't drawn yet
+     */
+    int getOwnerSectionWidth(int position, boolean reverseLayout) {
+        return sizeCache.getOwnerDrawnSize(position, reverseLayout);
+    }
+
+    private int getSectionWidthInternal(@NonNull RecyclerView parent, int position) {
+        if (!sizeCache.isEnabled()) {
+            return getSectionWidth(position);
+        }
+
+        validateOffsets(parent);
+        int width = sizeCache.getOffsetSize(position);
+        if (width == SectionHeights.MISSING) {
+            width = getSectionWidth(position);
+            sizeCache.putOffsetSize(position, width);
+        }
+        return width;
+    }
+
+    /**
+     * Get section width
+     *
+     * @param position item adapter position
+     * @return section width
+     */
+    protected abstract int getSectionWidth(int position);
+
+    /**
+     * Get left margin for section
+     *
+     * @return horizontal margin
+     */
+    protected int getSectionMarginLeft() {
+        return 0;
+    }
+
+    /**
+     * Get right margin for section
+     *
+     * @return horizontal margin
+     */
+    protected int getSectionMarginRight() {
+        return 0;
+    }
+}
@@ -0,0 +1,268 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Draws section decoration and sticky header on the leading edge of RecyclerView: the left edge,
+ * or the right edge in RTL layout direction.
+ * Horizontal counterpart of {@link VerticalStickyDecor} for {@link androidx.recyclerview.widget.LinearLayoutManager}
+ * with horizontal orientation.
+ * Support reversed layout.
+ * <p>
+ * Sections may have different widths: drawn section widths are kept per section and sticky header takes
+ * the width of the section it belongs to.
+ */
+public abstract class HorizontalStickyDecor extends HorizontalSectionDecor {
+    public static int HEADER_WIDTH_UNDEFINED = -1;
+
+    private int contactPosition = RecyclerView.NO_POSITION;
+    private Section contactSection = new Section(-1, RecyclerView.NO_POSITION);
+    private int lastHeaderWidth = 0;
+    private Rect headerBounds = new Rect();
+    private boolean reverseLayout;
+    private int cachedHeaderOffset = HEADER_WIDTH_UNDEFINED;
+
+    public HorizontalStickyDecor() {
+        this(false);
+    }
+
+    public HorizontalStickyDecor(boolean reverseLayout) {
+        this.reverseLayout = reverseLayout;
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position, @NonNull RecyclerView.State state) {
+        super.getItemOffsets(parent, rect, view, position, state);
+        if (reverseLayout && position == getItemCount(parent) - 1) {
+            if (isRtl(parent)) {
+                rect.right += getHeaderOffset(parent);
+            } else {
+                rect.left += getHeaderOffset(parent);
+            }
+        }
+    }
+
+    private static int getItemCount(@NonNull RecyclerView parent) {
+        RecyclerView.LayoutManager layout = parent.getLayoutManager();
+        return layout != null ? layout.getItemCount() : 0;
+    }
+
+    private int getHeaderOffset(@NonNull RecyclerView parent) {
+        if (!isOffsetsCacheEnabled()) {
+            return getHeaderWidth() + getHeaderMarginLeft() + getHeaderMarginRight();
+        }
+
+        validateOffsets(parent);
+        if (cachedHeaderOffset == HEADER_WIDTH_UNDEFINED) {
+            cachedHeaderOffset = getHeaderWidth() + getHeaderMarginLeft() + getHeaderMarginRight();
+        }
+        return cachedHeaderOffset;
+    }
+
+    @Override
+    void onOffsetsInvalidated() {
+        cachedHeaderOffset = HEADER_WIDTH_UNDEFINED;
+    }
+
+    @Override
+    public void prepareDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        super.prepareDrawOver(c, parent, state);
+        // keep section widths in sync with adapter
+        validateOffsets(parent);
+
+        // clear last header state
+        contactPosition = RecyclerView.NO_POSITION;
+        contactSection.isValid = false;
+    }
+
+    @Override
+    void onDrawSectionInternal(@NonNull Canvas c, int position, @NonNull Rect sectionBounds, @NonNull View child) {
+        int sectionStart = getLeadingStart(sectionBounds.left, sectionBounds.right);
+        int sectionEnd = getLeadingEnd(sectionBounds.left, sectionBounds.right);
+        if (sectionStart > getHeaderMarginLeft()) {
+            // don't draw section under header
+            super.onDrawSectionInternal(c, position, sectionBounds, child);
+        }
+
+        lastHeaderWidth = sectionBounds.width();
+        putDrawnSectionWidth(position, lastHeaderWidth);
+        // section pushes out header of previous section
+        int previousPosition = reverseLayout ? position + 1 : position - 1;
+        int contactPoint = getHeaderWidthInternal(previousPosition) + getHeaderMarginLeft() + getHeaderMarginRight();
+        if ((contactPoint >= sectionStart && contactPoint < sectionEnd + getHeaderMarginRight())) {
+            contactSection.isValid = true;
+            contactSection.position = position;
+            contactSection.start = sectionStart;
+        }
+    }
+
+    @Override
+    public void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        super.onPostDrawOver(c, parent, state);
+        DrawFrame frame = getDrawFrame();
+        if (frame != null) {
+            findContactPosition(parent, frame);
+        } else {
+            findContactPosition(parent);
+        }
+        drawHeaderInternal(c, parent, state);
+    }
+
+    /**
+     * Same as {@link #findContactPosition(RecyclerView)} but takes positions and bounds from frame snapshot
+     */
+    private void findContactPosition(@NonNull RecyclerView parent, @NonNull DrawFrame frame) {
+        int count = frame.getCount();
+        if (count == 0) {
+            return;
+        }
+        int leadingPosition = frame.getPosition(reverseLayout ? count - 1 : 0);
+        int contactPoint = getHeaderWidthInternal(leadingPosition) + getHeaderMarginLeft();
+        int contactIndex = -1;
+        for (int i = 0; i < count; i++) {
+            int index = reverseLayout ? count - 1 - i : i;
+            if (getLeadingStart(frame.getDecoratedLeft(index), frame.getDecoratedRight(index)) > contactPoint) {
+                break;
+            }
+            contactIndex = index;
+            if (reverseLayout) {
+                break;
+            }
+        }
+
+        if (contactIndex != -1) {
+            contactPosition = frame.getPosition(contactIndex);
+            frame.getDecoratedBounds(contactIndex, decoratedBounds);
+            getViewBounds(parent, frame.getChild(contactIndex));
+        }
+    }
+
+    /**
+     * Find the last child before contact point. Children are walked from the leading edge of RecyclerView
+     * and walk stops on the first child after contact point.
+     */
+    private void findContactPosition(@NonNull RecyclerView parent) {
+        int childCount = parent.getChildCount();
+        if (childCount == 0) {
+            return;
+        }
+        int leadingPosition = parent.getChildAdapterPosition(parent.getChildAt(reverseLayout ? childCount - 1 : 0));
+        int contactPoint = getHeaderWidthInternal(leadingPosition) + getHeaderMarginLeft();
+        View contactChild = null;
+        for (int i = 0; i < childCount; i++) {
+            // in reversed layout the first child is on the trailing side
+            View child = parent.getChildAt(reverseLayout ? childCount - 1 - i : i);
+            parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
+            if (getLeadingStart(decoratedBounds.left, decoratedBounds.right) > contactPoint) {
+                break;
+            }
+            contactChild = child;
+            if (reverseLayout) {
+                break;
+            }
+        }
+
+        if (contactChild != null) {
+            contactPosition = parent.getChildAdapterPosition(contactChild);
+            parent.getDecoratedBoundsWithMargins(contactChild, decoratedBounds);
+            getViewBounds(parent, contactChild);
+        }
+    }
+
+    private void drawHeaderInternal(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        if (contactSection.isValid) {
+            int itemPosition = getItemPosition(state);
+            int headerEnd = fromLeading(contactSection.start - getHeaderMarginRight());
+            Rect headerBounds = getHeaderBounds(parent, headerEnd, itemPosition, viewBounds, decoratedBounds);
+            if (!reverseLayout && contactSection.position == 0
+                    && getLeadingStart(headerBounds.left, headerBounds.right) - getHeaderMarginLeft() < 0) {
+                return;
+            }
+
+            onDrawHeader(c, itemPosition, headerBounds);
+            return;
+        }
+
+        if (contactPosition != RecyclerView.NO_POSITION) {
+            int itemPosition = contactPosition;
+            int headerEnd = fromLeading(getHeaderMarginLeft() + getHeaderWidthInternal(itemPosition));
+            Rect headerBounds = getHeaderBounds(parent, headerEnd, itemPosition, viewBounds, decoratedBounds);
+            onDrawHeader(c, itemPosition, headerBounds);
+        }
+    }
+
+    private int getItemPosition(@NonNull RecyclerView.State state) {
+        return reverseLayout ?
+                Math.min(contactSection.position + 1, state.getItemCount() - 1) :
+                Math.max(contactSection.position - 1, 0);
+    }
+
+    /**
+     * Draw header drawable on canvas
+     *
+     * @param c            RecyclerView canvas
+     * @param position     item position from 0 to {@link RecyclerView.Adapter#getItemCount()}
+     * @param headerBounds header bounds
+     */
+    protected abstract void onDrawHeader(@NonNull Canvas c, int position, @NonNull Rect headerBounds);
+
+    /**
+     * @param headerEnd edge of header on the side of items: the right edge, or the left edge in RTL layout direction
+     */
+    @NonNull
+    protected Rect getHeaderBounds(@NonNull RecyclerView parent, int headerEnd, int itemPosition, @NonNull Rect viewBounds, @NonNull Rect decoratedBounds) {
+        int width = getHeaderWidthInternal(itemPosition);
+        int left = isRtl() ? headerEnd : headerEnd - width;
+        int top = decoratedBounds.top;
+        int right = isRtl() ? headerEnd + width : headerEnd;
+        int bottom = decoratedBounds.bottom;
+        headerBounds.set(left, top, right, bottom);
+        return headerBounds;
+    }
+
+    protected int getHeaderMarginLeft() {
+        return getSectionMarginLeft();
+    }
+
+    protected int getHeaderMarginRight() {
+        return getSectionMarginRight();
+    }
+
+    /**
+     * Return header width. As default return -1. It means that header width takes from section size
+     *
+     * @return header width
+     */
+    protected int getHeaderWidth() {
+        return HEADER_WIDTH_UNDEFINED;
+    }
+
+    /**
+     * Width of header for item position: user width, drawn width of section the item belongs to
+     * or width of the last drawn section if that section wasn't drawn yet
+     */
+    private int getHeaderWidthInternal(int itemPosition) {
+        int userWidth = getHeaderWidth();
+        if (userWidth != HEADER_WIDTH_UNDEFINED) {
+            return userWidth;
+        }
+        int sectionWidth = getOwnerSectionWidth(itemPosition, reverseLayout);
+        return sectionWidth != SectionHeights.MISSING ? sectionWidth : lastHeaderWidth;
+    }
+
+    private static class Section {
+        int start;
+        int position;
+        boolean isValid = false;
+
+        Section(int start, int position) {
+            this.start = start;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Shared bitmap atlas with pre-rendered labels of {@link SimpleTextDrawable}.
+ * Each distinct label (text, size and {@link Style} of drawable: paint, background, radius and padding) is rendered once
+ * and then drawn with single {@link Canvas#drawBitmap(Bitmap, Rect, Rect, Paint)} call. Drawables with the same style
+ * share labels, atlas doesn't keep references to drawables.
+ * <p>
+ * Useful when labels come from small fixed vocabulary: dates, letters, status names.
+ * Labels are packed in to horizontal shelves. When atlas is full the least recently used shelf is evicted.
+ * Eviction is per shelf: space of single label isn't reclaimed, labels which are not used anymore
+ * (e.g. after alpha change of drawable) stay in their shelf until the whole shelf is evicted.
+ * Labels which don't fit in to atlas are drawn as usual.
+ */
+public class LabelAtlas {
+    private static final int ATLAS_WIDTH = 1024;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final int atlasHeight;
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final HashMap<Label, Entry> entries = new HashMap<>();
+    private final Label lookupLabel = new Label();
+    private final ArrayList<Shelf> shelves = new ArrayList<>();
+    @Nullable
+    private Bitmap atlas;
+    @Nullable
+    private Canvas atlasCanvas;
+    private int nextShelfTop = 0;
+    private long tick = 0;
+
+    /**
+     * @param maxBytes memory cap for atlas bitmap in bytes
+     */
+    public LabelAtlas(int maxBytes) {
+        atlasHeight = Math.max(1, maxBytes / (ATLAS_WIDTH * BYTES_PER_PIXEL));
+    }
+
+    /**
+     * Drop all rendered labels and free atlas bitmap
+     */
+    public void clear() {
+        entries.clear();
+        shelves.clear();
+        nextShelfTop = 0;
+        if (atlas != null) {
+            atlas.recycle();
+            atlas = null;
+            atlasCanvas = null;
+        }
+    }
+
+    /**
+     * Draw label of drawable from atlas. Label is rendered in to atlas if it is not there yet.
+     *
+     * @return true if label was drawn, false if label doesn't fit in to atlas
+     */
+    boolean draw(@NonNull Canvas canvas, @NonNull SimpleTextDrawable drawable) {
+        String text = drawable.getText();
+        Rect bounds = drawable.getBounds();
+        int width = bounds.width();
+        int height = bounds.height();
+        if (text == null || width <= 0 || height <= 0 || width > ATLAS_WIDTH || height > atlasHeight) {
+            return false;
+        }
+
+        Entry entry = entries.get(lookupLabel.set(drawable.getLabelStyle(), text, width, height));
+        if (entry == null) {
+            entry = render(drawable, new Label().set(lookupLabel.style, text, width, height));
+            if (entry == null) {
+                return false;
+            }
+        }
+
+        entry.shelf.lastUse = ++tick;
+        canvas.drawBitmap(atlas, entry.src, bounds, paint);
+        return true;
+    }
+
+    @Nullable
+    private Entry render(@NonNull SimpleTextDrawable drawable, @NonNull Label label) {
+        Shelf shelf = obtainShelf(label.width, label.height);
+        if (shelf == null) {
+            return null;
+        }
+        if (atlas == null) {
+            atlas = Bitmap.createBitmap(ATLAS_WIDTH, atlasHeight, Bitmap.Config.ARGB_8888);
+            atlasCanvas = new Canvas(atlas);
+        }
+
+        Entry entry = new Entry(label, shelf, shelf.usedWidth, shelf.top);
+        shelf.usedWidth += label.width;
+        shelf.entries.add(entry);
+        entries.put(label, entry);
+
+        Rect bounds = drawable.getBounds();
+        int save = atlasCanvas.save();
+        atlasCanvas.clipRect(entry.src);
+        atlasCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+        atlasCanvas.translate(entry.src.left - bounds.left, entry.src.top - bounds.top);
+        drawable.drawLabel(atlasCanvas);
+        atlasCanvas.restoreToCount(save);
+        return entry;
+    }
+
+    /**
+     * Find shelf with free space for label: existing shelf of suitable height, new shelf or least recently used shelf
+     */
+    @Nullable
+    private Shelf obtainShelf(int width, int height) {
+        for (int i = 0; i < shelves.size(); i++) {
+            Shelf shelf = shelves.get(i);
+            if (shelf.fits(width, height)) {
+                return shelf;
+            }
+        }
+
+        if (nextShelfTop + height <= atlasHeight) {
+            Shelf shelf = new Shelf(nextShelfTop, height);
+            nextShelfTop += height;
+            shelves.add(shelf);
+            return shelf;
+        }
+
+        Shelf lru = null;
+        for (int i = 0; i < shelves.size(); i++) {
+            Shelf shelf = shelves.get(i);
+            if (shelf.height >= height && (lru == null || shelf.lastUse < lru.lastUse)) {
+                lru = shelf;
+            }
+        }
+        if (lru != null) {
+            evict(lru);
+        }
+        return lru;
+    }
+
+    private void evict(@NonNull Shelf shelf) {
+        for (int i = 0; i < shelf.entries.size(); i++) {
+            entries.remove(shelf.entries.get(i).label);
+        }
+        shelf.entries.clear();
+        shelf.usedWidth = 0;
+    }
+
+    private static class Shelf {
+        final int top;
+        final int height;
+        final ArrayList<Entry> entries = new ArrayList<>();
+        int usedWidth = 0;
+        long lastUse = 0;
+
+        Shelf(int top, int height) {
+            this.top = top;
+            this.height = height;
+        }
+
+        boolean fits(int width, int height) {
+            // don't waste tall shelves for small labels
+            return height <= this.height && height >= this.height / 2 && usedWidth + width <= ATLAS_WIDTH;
+        }
+    }
+
+    private static class Entry {
+        final Label label;
+        final Shelf shelf;
+        final Rect src = new Rect();
+
+        Entry(Label label, Shelf shelf, int left, int top) {
+            this.label = label;
+            this.shelf = shelf;
+            src.set(left, top, left + label.width, top + label.height);
+        }
+    }
+
+    /**
+     * Key of rendered label: the same text can be drawn with several styles and in to several sizes
+     */
+    private static final class Label {
+        Style style;
+        String text;
+        int width;
+        int height;
+
+        @NonNull
+        Label set(@NonNull Style style, @NonNull String text, int width, int height) {
+            this.style = style;
+            this.text = text;
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Label)) {
+                return false;
+            }
+            Label label = (Label) o;
+            return width == label.width && height == label.height && text.equals(label.text) && style.equals(label.style);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = style.hashCode();
+            result = 31 * result + text.hashCode();
+            result = 31 * result + width;
+            return 31 * result + height;
+        }
+    }
+
+    /**
+     * Everything except text and bounds which affects pixels of {@link SimpleTextDrawable} label.
+     * Style is immutable, drawable creates new one when its paint changes.
+     */
+    static final class Style {
+        private final int colorText;
+        private final float textSize;
+        @Nullable
+        private final Typeface typeface;
+        private final int colorBackground;
+        @Nullable
+        private final ColorFilter colorFilter;
+        private final int bgRadius;
+        private final int paddingLeft;
+        private final int paddingRight;
+        private final SimpleTextDrawable.SimpleGravity gravity;
+        private final int hash;
+
+        Style(@NonNull Paint paintText, @NonNull Paint paintBack, int bgRadius, int paddingLeft, int paddingRight,
+              @NonNull SimpleTextDrawable.SimpleGravity gravity) {
+            colorText = paintText.getColor();
+            textSize = paintText.getTextSize();
+            typeface = paintText.getTypeface();
+            colorBackground = paintBack.getColor();
+            colorFilter = paintText.getColorFilter();
+            this.bgRadius = bgRadius;
+            this.paddingLeft = paddingLeft;
+            this.paddingRight = paddingRight;
+            this.gravity = gravity;
+
+            int result = colorText;
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + (typeface != null ? typeface.hashCode() : 0);
+            result = 31 * result + colorBackground;
+            result = 31 * result + (colorFilter != null ? colorFilter.hashCode() : 0);
+            result = 31 * result + bgRadius;
+            result = 31 * result + paddingLeft;
+            result = 31 * result + paddingRight;
+            hash = 31 * result + gravity.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Style)) {
+                return false;
+            }
+            Style style = (Style) o;
+            return colorText == style.colorText
+                    && textSize == style.textSize
+                    && colorBackground == style.colorBackground
+                    && bgRadius == style.bgRadius
+                    && paddingLeft == style.paddingLeft
+                    && paddingRight == style.paddingRight
+                    && gravity == style.gravity
+                    && Objects.equals(typeface, style.typeface)
+                    && Objects.equals(colorFilter, style.colorFilter);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.osome.stickydecorator;
+
+import android.annotation.TargetApi;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.text.Layout;
+import android.text.PrecomputedText;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Text drawable with multi-line and ellipsized text limited by drawable width.
+ * Unlike {@link SimpleTextDrawable} supports long titles which don't fit in to single line.
+ * <p>
+ * {@link StaticLayout} is built lazily on first draw or measure, once per text and width, and cached.
+ * On API 28+ texts can be precomputed on background thread with {@link #prefetch(List, Executor)},
+ * precomputed texts are kept for all widths while drawable is alive.
+ */
+public class LayoutTextDrawable extends Drawable {
+    // the same values for precomputed text and layout, otherwise precomputed text is measured again
+    private static final int BREAK_STRATEGY = Layout.BREAK_STRATEGY_SIMPLE;
+    private static final int HYPHENATION_FREQUENCY = Layout.HYPHENATION_FREQUENCY_NONE;
+
+    private final int paddingLeft;
+    private final int paddingTop;
+    private final int paddingRight;
+    private final int paddingBottom;
+    private final int bgRadius;
+    private final int maxLines;
+    @Nullable
+    private final TextUtils.TruncateAt ellipsize;
+    private final Layout.Alignment alignment;
+    private final TextPaint paintText = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint paintBack = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF bgBounds = new RectF();
+    private final LinkedHashMap<LayoutKey, StaticLayout> layoutCache;
+    private final LayoutKey lookupKey = new LayoutKey();
+    private final ConcurrentHashMap<String, CharSequence> precomputed = new ConcurrentHashMap<>();
+
+    private String textForDraw = "";
+    @Nullable
+    private StaticLayout layout;
+    private boolean layoutValid = false;
+    private float layoutX = 0;
+    private float layoutY = 0;
+
+    protected LayoutTextDrawable(float textSize,
+                                 int colorText,
+                                 int colorBackground,
+                                 int bgRadius,
+                                 int paddingLeft,
+                                 int paddingTop,
+                                 int paddingRight,
+                                 int paddingBottom,
+                                 Typeface typeface,
+                                 int maxLines,
+                                 @Nullable TextUtils.TruncateAt ellipsize,
+                                 @NonNull Layout.Alignment alignment,
+                                 final int layoutCacheSize) {
+        this.paddingLeft = paddingLeft;
+        this.paddingTop = paddingTop;
+        this.paddingRight = paddingRight;
+        this.paddingBottom = paddingBottom;
+        this.bgRadius = bgRadius;
+        this.maxLines = maxLines;
+        this.ellipsize = ellipsize;
+        this.alignment = alignment;
+
+        paintText.setColor(colorText);
+        if (typeface != null) {
+            paintText.setTypeface(typeface);
+        }
+        paintText.setTextSize(textSize);
+        paintBack.setColor(colorBackground);
+
+        layoutCache = new LinkedHashMap<LayoutKey, StaticLayout>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LayoutKey, StaticLayout> eldest) {
+                return size() > layoutCacheSize;
+            }
+        };
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        paintText.setAlpha(alpha);
+        paintBack.setAlpha(alpha);
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        paintText.setColorFilter(colorFilter);
+        paintBack.setColorFilter(colorFilter);
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (paintBack.getColor() != Color.TRANSPARENT || paintBack.getAlpha() > 0) {
+            canvas.drawRoundRect(bgBounds, bgRadius, bgRadius, paintBack);
+        }
+
+        if (!layoutValid) {
+            updateLayout(getBounds());
+            layoutValid = true;
+        }
+        if (layout == null) {
+            return;
+        }
+        int save = canvas.save();
+        canvas.translate(layoutX, layoutY);
+        layout.draw(canvas);
+        canvas.restoreToCount(save);
+    }
+
+    /**
+     * Update text for this drawable. Layout is taken from cache on draw when drawable has the same width
+     *
+     * @param text - New text value
+     */
+    public void setText(@NonNull String text) {
+        if (!text.equals(textForDraw)) {
+            textForDraw = text;
+            layoutValid = false;
+        }
+    }
+
+    /**
+     * Return current text
+     *
+     * @return current text
+     */
+    @NonNull
+    public String getText() {
+        return textForDraw;
+    }
+
+    /**
+     * Drawable height for current text when it is laid out in to width.
+     * Use it to calculate section or header height
+     *
+     * @param width drawable width with padding
+     * @return text height with padding
+     */
+    public int getHeight(int width) {
+        StaticLayout layout = obtainLayout(textForDraw, width - paddingLeft - paddingRight);
+        int textHeight = layout != null ? layout.getHeight() : 0;
+        return textHeight + paddingTop + paddingBottom;
+    }
+
+    /**
+     * Precompute texts on background executor, so layouts for these texts are built faster on draw.
+     * Works only on API 28+, does nothing on older API.
+     *
+     * @param texts    texts which will be shown by this drawable
+     * @param executor background executor
+     */
+    public void prefetch(@NonNull final List<String> texts, @NonNull Executor executor) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+            return;
+        }
+        final TextPaint paint = new TextPaint(paintText);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                precompute(texts, paint);
+            }
+        });
+    }
+
+    @TargetApi(Build.VERSION_CODES.P)
+    private void precompute(@NonNull List<String> texts, @NonNull TextPaint paint) {
+        PrecomputedText.Params params = new PrecomputedText.Params.Builder(paint)
+                .setBreakStrategy(BREAK_STRATEGY)
+                .setHyphenationFrequency(HYPHENATION_FREQUENCY)
+                .build();
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (!precomputed.containsKey(text)) {
+                precomputed.put(text, PrecomputedText.create(text, params));
+            }
+        }
+    }
+
+    @Override
+    public void setBounds(int left, int top, int right, int bottom) {
+        super.setBounds(left, top, right, bottom);
+        Rect bounds = getBounds();
+        bgBounds.set(bounds);
+        layoutValid = false;
+    }
+
+    private void updateLayout(@NonNull Rect bounds) {
+        int width = bounds.width() - paddingLeft - paddingRight;
+        layout = obtainLayout(textForDraw, width);
+        if (layout == null) {
+            return;
+        }
+        int contentHeight = bounds.height() - paddingTop - paddingBottom;
+        layoutX = bounds.left + paddingLeft;
+        layoutY = bounds.top + paddingTop + Math.max(0, (contentHeight - layout.getHeight()) / 2f);
+    }
+
+    @Nullable
+    private StaticLayout obtainLayout(@NonNull String text, int width) {
+        if (width <= 0) {
+            return null;
+        }
+        StaticLayout cached = layoutCache.get(lookupKey.set(text, width));
+        if (cached != null) {
+            return cached;
+        }
+
+        StaticLayout created = createLayout(text, width);
+        layoutCache.put(new LayoutKey().set(text, width), created);
+        return created;
+    }
+
+    @NonNull
+    private StaticLayout createLayout(@NonNull String text, int width) {
+        CharSequence source = precomputed.get(text);
+        if (source == null) {
+            source = text;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder.obtain(source, 0, source.length(), paintText, width)
+                    .setAlignment(alignment)
+                    .setIncludePad(false)
+                    .setBreakStrategy(BREAK_STRATEGY)
+                    .setHyphenationFrequency(HYPHENATION_FREQUENCY)
+                    .setMaxLines(maxLines)
+                    .setEllipsize(ellipsize)
+                    .setEllipsizedWidth(width)
+                    .build();
+        }
+
+        StaticLayout layout = new StaticLayout(source, 0, source.length(), paintText, width, alignment, 1f, 0f, false);
+        if (layout.getLineCount() <= maxLines) {
+            return layout;
+        }
+        // layout before API 23 ignores max lines: keep first lines and put the rest in to the last line
+        int lastLineStart = layout.getLineStart(maxLines - 1);
+        CharSequence lastLine = ellipsize != null ?
+                TextUtils.ellipsize(source.subSequence(lastLineStart, source.length()), paintText, width, ellipsize) :
+                source.subSequence(lastLineStart, layout.getLineEnd(maxLines - 1));
+        source = TextUtils.concat(source.subSequence(0, lastLineStart), lastLine);
+        return new StaticLayout(source, 0, source.length(), paintText, width, alignment, 1f, 0f, false);
+    }
+
+    /**
+     * Key of cached layout, the same text can be laid out in to several widths
+     */
+    private static final class LayoutKey {
+        String text;
+        int width;
+
+        @NonNull
+        LayoutKey set(@NonNull String text, int width) {
+            this.text = text;
+            this.width = width;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LayoutKey)) {
+                return false;
+            }
+            LayoutKey key = (LayoutKey) o;
+            return width == key.width && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + width;
+        }
+    }
+
+    public static class Builder {
+        private float textSize = Util.dpToPxF(12);
+        private int colorText = Color.BLACK;
+        private int colorBackground = Color.TRANSPARENT;
+        private int bgRadius = 0;
+        private int paddingLeft = 0;
+        private int paddingTop = 0;
+        private int paddingRight = 0;
+        private int paddingBottom = 0;
+        private Typeface typeface;
+        private int maxLines = 2;
+        private TextUtils.TruncateAt ellipsize = TextUtils.TruncateAt.END;
+        private Layout.Alignment alignment = Layout.Alignment.ALIGN_NORMAL;
+        private int layoutCacheSize = 32;
+
+        /**
+         * Set up text size in pixels
+         *
+         * @param textSize test size in pixels
+         * @return updated builder instance
+         */
+        public Builder setTextSize(float textSize) {
+            this.textSize = textSize;
+            return this;
+        }
+
+        /**
+         * Set up text size in dip and convert in to pixels
+         *
+         * @param textSize text size in dix
+         * @return updated builder instance
+         */
+        public Builder setTextSizeDp(int textSize) {
+            this.textSize = Util.dpToPxF(textSize);
+            return this;
+        }
+
+        /**
+         * Set up text color
+         *
+         * @param colorText text color
+         * @return updated builder instance
+         */
+        public Builder setTextColor(int colorText) {
+            this.colorText = colorText;
+            return this;
+        }
+
+        /**
+         * Set up background color
+         *
+         * @param colorBackground background color
+         * @return updated builder instance
+         */
+        public Builder setBackgroundColor(int colorBackground) {
+            this.colorBackground = colorBackground;
+            return this;
+        }
+
+        /**
+         * Set up background corners radius in pixels
+         *
+         * @param bgRadius background corners radius in pixels
+         * @return updated builder instance
+         */
+        public Builder setBackgroundCornerRadius(int bgRadius) {
+            this.bgRadius = bgRadius;
+            return this;
+        }
+
+        /**
+         * Set up background corners radius in dip and convert in to pixels
+         *
+         * @param bgRadius background corners radius in dip
+         * @return updated builder instance
+         */
+        public Builder setBackgroundCornerRadiusDp(int bgRadius) {
+            return setBackgroundCornerRadius(Util.dp2px(bgRadius));
+        }
+
+        /**
+         * Set up text padding in pixels
+         *
+         * @param left   left padding in pixels
+         * @param top    top padding in pixels
+         * @param right  right padding in pixels
+         * @param bottom bottom padding in pixels
+         * @return updated builder instance
+         */
+        public Builder setPadding(int left, int top, int right, int bottom) {
+            paddingLeft = left;
+            paddingTop = top;
+            paddingRight = right;
+            paddingBottom = bottom;
+            return this;
+        }
+
+        /**
+         * Set up symmetric padding in pixels
+         *
+         * @param horizontal horizontal padding in pixels
+         * @param vertical   vertical padding in pixels
+         * @return updated builder instance
+         */
+        public Builder setPaddingSymmetric(int horizontal, int vertical) {
+            return setPadding(horizontal, vertical, horizontal, vertical);
+        }
+
+        /**
+         * Set up symmetric padding in dip and convert in to pixels
+         *
+         * @param horizontal horizontal padding in dip
+         * @param vertical   vertical padding in dip
+         * @return updated builder instance
+         */
+        public Builder setPaddingSymmetricDp(int horizontal, int vertical) {
+            return setPaddingSymmetric(Util.dp2px(horizontal), Util.dp2px(vertical));
+        }
+
+        /**
+         * Set up text typeface
+         *
+         * @param typeface text typeface
+         * @return updated builder instance
+         */
+        public Builder setTypeface(@Nullable Typeface typeface) {
+            this.typeface = typeface;
+            return this;
+        }
+
+        /**
+         * Set up max count of text lines. 2 by default.
+         * <p>
+         * On API below 23 text is clamped to max lines by hand: the rest of text is ellipsized in to the last line
+         *
+         * @param maxLines max count of lines
+         * @return updated builder instance
+         */
+        public Builder setMaxLines(int maxLines) {
+            this.maxLines = maxLines;
+            return this;
+        }
+
+        /**
+         * Set up ellipsize for text which doesn't fit in to max lines. {@link TextUtils.TruncateAt#END} by default
+         *
+         * @param ellipsize ellipsize mode, null to cut text
+         * @return updated builder instance
+         */
+        public Builder setEllipsize(@Nullable TextUtils.TruncateAt ellipsize) {
+            this.ellipsize = ellipsize;
+            return this;
+        }
+
+        /**
+         * Set up text alignment. {@link Layout.Alignment#ALIGN_NORMAL} by default
+         *
+         * @param alignment text alignment
+         * @return updated builder instance
+         */
+        public Builder setAlignment(@NonNull Layout.Alignment alignment) {
+            this.alignment = alignment;
+            return this;
+        }
+
+        /**
+         * Set up max count of cached text layouts. 32 by default
+         *
+         * @param layoutCacheSize max count of cached layouts
+         * @return updated builder instance
+         */
+        public Builder setLayoutCacheSize(int layoutCacheSize) {
+            this.layoutCacheSize = layoutCacheSize;
+            return this;
+        }
+
+        @NonNull
+        public LayoutTextDrawable build() {
+            return new LayoutTextDrawable(textSize,
+                    colorText,
+                    colorBackground,
+                    bgRadius,
+                    paddingLeft,
+                    paddingTop,
+                    paddingRight,
+                    paddingBottom,
+                    typeface,
+                    maxLines,
+                    ellipsize,
+                    alignment,
+                    layoutCacheSize);
+        }
+    }
+}
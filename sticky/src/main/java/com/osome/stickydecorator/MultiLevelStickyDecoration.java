@@ -0,0 +1,281 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * View holder based sticky decoration with several nested header levels, e.g. year, month and day.
+ * Each level has own condition, own header index and own cached header holder.
+ * <p>
+ * Headers are stacked from the top: header of level N is pinned below headers of levels 0..N-1
+ * and only the next header of the same level pushes it off. Header of inner level is not shown
+ * when it belongs to previous section of outer level.
+ * <p>
+ * Level conditions may be {@link ConcatCondition} for {@link androidx.recyclerview.widget.ConcatAdapter},
+ * headers are bound with sub-adapters then. {@link ViewHolderStickyDecoration.PagedCondition} placeholders
+ * are indexed from section metadata and header which is not loaded yet is not drawn until its page is loaded.
+ * <p>
+ * Now supports only vertical not reversed layout.
+ */
+public class MultiLevelStickyDecoration extends RecyclerView.ItemDecoration {
+    private static final int NO_CONTACT = Integer.MAX_VALUE;
+
+    private final Level[] levels;
+    private final Rect bounds = new Rect();
+    private RecyclerView.RecycledViewPool headerPool = new RecyclerView.RecycledViewPool();
+    private RecyclerView parent;
+    private RecyclerView.Adapter adapter;
+    private RecyclerView.AdapterDataObserver adapterObserver;
+    private View.OnLayoutChangeListener layoutChangeListener;
+    private boolean released = false;
+
+    /**
+     * @param parent     RecyclerView with adapter
+     * @param conditions header conditions from the outermost level to the innermost one
+     */
+    public MultiLevelStickyDecoration(@NonNull RecyclerView parent, @NonNull ViewHolderStickyDecoration.Condition... conditions) {
+        if (conditions.length == 0) {
+            throw new IllegalArgumentException("At least one level is required");
+        }
+        levels = new Level[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            levels[i] = new Level(conditions[i]);
+        }
+        init(parent);
+    }
+
+    /**
+     * Set up pool for header view holders. Header holders are taken from this pool and re-bound
+     * instead of being created every time when pinned section of any level changes.
+     *
+     * @param pool pool for header view holders
+     */
+    public void setHeaderPool(@NonNull RecyclerView.RecycledViewPool pool) {
+        headerPool = pool;
+    }
+
+    /**
+     * Detach decoration from RecyclerView and its adapter: unregister adapter observer, remove layout listener
+     * and return header holders in to pool. Call it together with
+     * {@link RecyclerView#removeItemDecoration(RecyclerView.ItemDecoration)} when decoration is replaced.
+     * Decoration can't be used after release.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        adapter.unregisterAdapterDataObserver(adapterObserver);
+        parent.removeOnLayoutChangeListener(layoutChangeListener);
+        for (Level level : levels) {
+            if (level.concatCondition != null) {
+                level.concatCondition.release();
+            }
+            level.index.invalidate();
+            level.slot.release(headerPool);
+        }
+    }
+
+    private void init(@NonNull RecyclerView parent) {
+        RecyclerView.Adapter adapter = parent.getAdapter();
+        if (adapter == null) {
+            throw new IllegalArgumentException("Firstly set adapter");
+        }
+        this.parent = parent;
+        this.adapter = adapter;
+
+        adapterObserver = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                for (Level level : levels) {
+                    level.index.invalidate();
+                    level.slot.release(headerPool);
+                }
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                for (Level level : levels) {
+                    level.index.onItemRangeChanged(level.condition, positionStart, itemCount);
+                    level.slot.onItemRangeChanged(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                for (Level level : levels) {
+                    level.index.onItemRangeInserted(level.condition, positionStart, itemCount);
+                    level.slot.onItemRangeInserted(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                for (Level level : levels) {
+                    level.index.onItemRangeRemoved(level.condition, positionStart, itemCount);
+                    level.slot.onItemRangeRemoved(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                for (Level level : levels) {
+                    level.index.onItemRangeMoved(level.condition, fromPosition, toPosition, itemCount);
+                    level.slot.onItemRangeMoved(fromPosition, toPosition, itemCount);
+                }
+            }
+        };
+        adapter.registerAdapterDataObserver(adapterObserver);
+
+        layoutChangeListener = new View.OnLayoutChangeListener() {
+            @Override
+            public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
+                // headers measured with parent width, so only its change requires new measure
+                if (right - left != oldRight - oldLeft) {
+                    for (Level level : levels) {
+                        level.slot.dirty = true;
+                    }
+                }
+            }
+        };
+        parent.addOnLayoutChangeListener(layoutChangeListener);
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        RecyclerView.Adapter adapter = parent.getAdapter();
+        int childCount = parent.getChildCount();
+        if (adapter == null || state.getItemCount() == 0 || childCount == 0) {
+            return;
+        }
+
+        int topPosition = parent.getChildAdapterPosition(parent.getChildAt(0));
+        if (topPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int stackBottom = resolveHeaders(adapter, parent, topPosition);
+        findContacts(parent, childCount, stackBottom);
+
+        // inner levels are drawn first, so pushed inner header goes under outer ones
+        for (int i = levels.length - 1; i >= 0; i--) {
+            Level level = levels[i];
+            if (level.header == null) {
+                continue;
+            }
+            int top = Math.min(level.top, level.contactTop - level.header.getHeight());
+            c.save();
+            c.translate(0, top);
+            level.header.draw(c);
+            c.restore();
+        }
+    }
+
+    /**
+     * Bind pinned header of each level and stack headers from the top
+     *
+     * @return bottom of headers stack
+     */
+    private int resolveHeaders(@NonNull RecyclerView.Adapter adapter, @NonNull RecyclerView parent, int topPosition) {
+        int stackBottom = 0;
+        int outerPosition = RecyclerView.NO_POSITION;
+        for (Level level : levels) {
+            level.top = stackBottom;
+            level.contactTop = NO_CONTACT;
+            level.header = getHeaderViewForItem(adapter, parent, level, topPosition, outerPosition);
+            if (level.header != null) {
+                stackBottom += level.header.getHeight();
+                outerPosition = level.slot.position;
+            }
+        }
+        return stackBottom;
+    }
+
+    /**
+     * Single pass over children from the top. Pass stops on the first child below headers stack,
+     * because children below it can't push any header.
+     */
+    private void findContacts(@NonNull RecyclerView parent, int childCount, int stackBottom) {
+        for (int i = 0; i < childCount; i++) {
+            View child = parent.getChildAt(i);
+            parent.getDecoratedBoundsWithMargins(child, bounds);
+            // follow child while it is animated
+            int childTop = bounds.top + (int) child.getTranslationY();
+            if (childTop >= stackBottom) {
+                return;
+            }
+
+            int position = parent.getChildAdapterPosition(child);
+            if (position == RecyclerView.NO_POSITION) {
+                continue;
+            }
+            for (Level level : levels) {
+                if (level.header != null && level.contactTop == NO_CONTACT
+                        && position > level.slot.position && level.isHeader(position)) {
+                    level.contactTop = childTop;
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private View getHeaderViewForItem(@NonNull RecyclerView.Adapter adapter, @NonNull RecyclerView parent,
+                                      @NonNull Level level, int position, int outerPosition) {
+        if (level.concatCondition == null && !level.index.isValid()) {
+            level.index.build(level.condition, adapter.getItemCount());
+        }
+        int headerPosition = level.floor(position);
+        // header from previous section of outer level
+        if (headerPosition == RecyclerView.NO_POSITION || headerPosition < outerPosition) {
+            return null;
+        }
+        if (!HeaderIndex.isLoaded(level.condition, headerPosition)) {
+            // binding of placeholder would force page load from draw pass
+            return null;
+        }
+
+        HeaderSlot slot = level.slot;
+        int viewType = adapter.getItemViewType(headerPosition);
+        if (slot.isBoundTo(headerPosition, viewType)) {
+            View header = slot.holder.itemView;
+            if (header.isLayoutRequested()) {
+                HeaderBinder.measure(parent, header, true);
+            }
+            return header;
+        }
+
+        HeaderBinder.bind(adapter, parent, headerPool, slot, headerPosition, viewType, level.concatCondition);
+        HeaderBinder.measure(parent, slot.holder.itemView, true);
+        return slot.holder.itemView;
+    }
+
+    private static final class Level {
+        final ViewHolderStickyDecoration.Condition condition;
+        @Nullable
+        final ConcatCondition concatCondition;
+        final HeaderIndex index = new HeaderIndex();
+        final HeaderSlot slot = new HeaderSlot();
+        @Nullable
+        View header;
+        int top;
+        int contactTop;
+
+        Level(@NonNull ViewHolderStickyDecoration.Condition condition) {
+            this.condition = condition;
+            this.concatCondition = condition instanceof ConcatCondition ? (ConcatCondition) condition : null;
+        }
+
+        int floor(int position) {
+            return concatCondition != null ? concatCondition.floor(position) : index.floor(position);
+        }
+
+        boolean isHeader(int position) {
+            return concatCondition != null ? concatCondition.contains(position) : index.contains(position);
+        }
+    }
+}
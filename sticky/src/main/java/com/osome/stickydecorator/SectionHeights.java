@@ -0,0 +1,118 @@
+package com.osome.stickydecorator;
+
+import java.util.Arrays;
+
+/**
+ * Section sizes stored per section in primitive arrays: sorted section positions and sizes with the same index,
+ * so index in arrays is index of known section. Lookup is binary search without allocations.
+ * <p>
+ * Adapter range events are applied in place: positions after the range are shifted and only touched sections are dropped.
+ */
+final class SectionHeights {
+    static final int MISSING = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] heights = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * @return cached size of section at position or {@link #MISSING}
+     */
+    int get(int position) {
+        int index = Arrays.binarySearch(positions, 0, size, position);
+        return index >= 0 ? heights[index] : MISSING;
+    }
+
+    /**
+     * @return cached size of the nearest section at or before position or {@link #MISSING}
+     */
+    int floor(int position) {
+        int index = Arrays.binarySearch(positions, 0, size, position);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 ? heights[index] : MISSING;
+    }
+
+    /**
+     * @return cached size of the nearest section at or after position or {@link #MISSING}
+     */
+    int ceiling(int position) {
+        int index = lowerBound(position);
+        return index < size ? heights[index] : MISSING;
+    }
+
+    void put(int position, int height) {
+        int index = Arrays.binarySearch(positions, 0, size, position);
+        if (index >= 0) {
+            heights[index] = height;
+            return;
+        }
+
+        index = -index - 1;
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            heights = Arrays.copyOf(heights, size * 2);
+        }
+        System.arraycopy(positions, index, positions, index + 1, size - index);
+        System.arraycopy(heights, index, heights, index + 1, size - index);
+        positions[index] = position;
+        heights[index] = height;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Changed items may change both section content and condition of the next item
+     */
+    void onItemRangeChanged(int positionStart, int itemCount) {
+        removeRange(positionStart, positionStart + itemCount + 1);
+    }
+
+    void onItemRangeInserted(int positionStart, int itemCount) {
+        shift(positionStart, itemCount);
+        // item after inserted range has new previous item
+        removeRange(positionStart + itemCount, positionStart + itemCount + 1);
+    }
+
+    void onItemRangeRemoved(int positionStart, int itemCount) {
+        removeRange(positionStart, positionStart + itemCount);
+        shift(positionStart + itemCount, -itemCount);
+        // item after removed range has new previous item
+        removeRange(positionStart, positionStart + 1);
+    }
+
+    void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        onItemRangeRemoved(fromPosition, itemCount);
+        onItemRangeInserted(toPosition, itemCount);
+    }
+
+    private void shift(int fromPosition, int offset) {
+        for (int i = lowerBound(fromPosition); i < size; i++) {
+            positions[i] += offset;
+        }
+    }
+
+    /**
+     * Remove sections with positions from {@code fromPosition} inclusive to {@code toPosition} exclusive
+     */
+    private void removeRange(int fromPosition, int toPosition) {
+        int from = lowerBound(fromPosition);
+        int to = lowerBound(toPosition);
+        if (from == to) {
+            return;
+        }
+        System.arraycopy(positions, to, positions, from, size - to);
+        System.arraycopy(heights, to, heights, from, size - to);
+        size -= to - from;
+    }
+
+    private int lowerBound(int position) {
+        int index = Arrays.binarySearch(positions, 0, size, position);
+        return index >= 0 ? index : -index - 1;
+    }
+}
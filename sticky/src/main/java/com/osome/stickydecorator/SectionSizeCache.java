@@ -0,0 +1,130 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Section sizes along layout axis shared by vertical and horizontal section decors.
+ * Offset sizes are requested from decor once per section, drawn sizes are used for sticky header.
+ * Drawn sizes are kept apart from offsets: drawn bounds include insets of other decorations.
+ * <p>
+ * Both are bound to adapter and patched by its range events, full change and change of RecyclerView
+ * size across layout axis drop everything.
+ */
+final class SectionSizeCache {
+    private final Runnable onInvalidated;
+    private final SectionHeights offsetSizes = new SectionHeights();
+    private final SectionHeights drawnSizes = new SectionHeights();
+    private boolean enabled = false;
+    @Nullable
+    private RecyclerView.Adapter<?> observedAdapter;
+    private int crossSize = -1;
+    private final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            offsetSizes.onItemRangeChanged(positionStart, itemCount);
+            drawnSizes.onItemRangeChanged(positionStart, itemCount);
+            onInvalidated.run();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            offsetSizes.onItemRangeInserted(positionStart, itemCount);
+            drawnSizes.onItemRangeInserted(positionStart, itemCount);
+            onInvalidated.run();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            offsetSizes.onItemRangeRemoved(positionStart, itemCount);
+            drawnSizes.onItemRangeRemoved(positionStart, itemCount);
+            onInvalidated.run();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            offsetSizes.onItemRangeMoved(fromPosition, toPosition, itemCount);
+            drawnSizes.onItemRangeMoved(fromPosition, toPosition, itemCount);
+            onInvalidated.run();
+        }
+    };
+
+    /**
+     * @param onInvalidated called when sizes are dropped or shifted, to drop values derived from them
+     */
+    SectionSizeCache(@NonNull Runnable onInvalidated) {
+        this.onInvalidated = onInvalidated;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        invalidate();
+    }
+
+    void invalidate() {
+        offsetSizes.clear();
+        drawnSizes.clear();
+        onInvalidated.run();
+    }
+
+    /**
+     * Keep cache bound to current adapter and size of RecyclerView across layout axis
+     *
+     * @param crossSize width of RecyclerView for vertical layout, height for horizontal one
+     */
+    void validate(@NonNull RecyclerView parent, int crossSize) {
+        RecyclerView.Adapter<?> adapter = parent.getAdapter();
+        if (adapter != observedAdapter) {
+            if (observedAdapter != null) {
+                observedAdapter.unregisterAdapterDataObserver(observer);
+            }
+            if (adapter != null) {
+                adapter.registerAdapterDataObserver(observer);
+            }
+            observedAdapter = adapter;
+            invalidate();
+        }
+        if (crossSize != this.crossSize) {
+            this.crossSize = crossSize;
+            invalidate();
+        }
+    }
+
+    /**
+     * @return cached offset size of section or {@link SectionHeights#MISSING}
+     */
+    int getOffsetSize(int position) {
+        return offsetSizes.get(position);
+    }
+
+    void putOffsetSize(int position, int size) {
+        offsetSizes.put(position, size);
+    }
+
+    void putDrawnSize(int position, int size) {
+        drawnSizes.put(position, size);
+    }
+
+    /**
+     * Drawn size of section which owns item at position: the nearest section before it
+     * or after it in reversed layout
+     *
+     * @return section size or {@link SectionHeights#MISSING} if section wasn't drawn yet
+     */
+    int getOwnerDrawnSize(int position, boolean reverseLayout) {
+        if (position < 0) {
+            return SectionHeights.MISSING;
+        }
+        return reverseLayout ? drawnSizes.ceiling(position) : drawnSizes.floor(position);
+    }
+}
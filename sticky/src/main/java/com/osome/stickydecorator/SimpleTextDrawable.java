@@ -13,7 +13,12 @@ import android.graphics.drawable.Drawable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
 public class SimpleTextDrawable extends Drawable {
+    static final int MAX_PREFETCHED_SIZE = 10000;
 
     private final int paddingLeft;
     private final int paddingTop;
@@ -31,6 +36,15 @@ public class SimpleTextDrawable extends Drawable {
     private float textX = 0;
     private float textY = 0;
     private SimpleGravity textGravity;
+    @Nullable
+    private final TextMeasureCache measureCache;
+    @Nullable
+    private final LabelAtlas labelAtlas;
+    @Nullable
+    private LabelAtlas.Style labelStyle;
+    @Nullable
+    private Prefetch prefetch;
+    private int prefetchHitCount = 0;
 
     protected SimpleTextDrawable(float textSize,
                                  int colorText,
@@ -41,7 +55,9 @@ public class SimpleTextDrawable extends Drawable {
                                  int paddingTop,
                                  int paddingRight,
                                  int paddingBottom,
-                                 Typeface typeface) {
+                                 Typeface typeface,
+                                 int measureCacheSize,
+                                 @Nullable LabelAtlas labelAtlas) {
         this.paddingLeft = paddingLeft;
         this.paddingTop = paddingTop;
         this.paddingRight = paddingRight;
@@ -56,18 +72,22 @@ public class SimpleTextDrawable extends Drawable {
         paintText.setTextSize(textSize);
 
         paintBack.setColor(colorBackground);
+        measureCache = measureCacheSize > 0 ? new TextMeasureCache(measureCacheSize) : null;
+        this.labelAtlas = labelAtlas;
     }
 
     @Override
     public void setAlpha(int alpha) {
         paintText.setAlpha(alpha);
         paintBack.setAlpha(alpha);
+        labelStyle = null;
     }
 
     @Override
     public void setColorFilter(@Nullable ColorFilter colorFilter) {
         paintText.setColorFilter(colorFilter);
         paintBack.setColorFilter(colorFilter);
+        labelStyle = null;
     }
 
     @Override
@@ -78,6 +98,27 @@ public class SimpleTextDrawable extends Drawable {
 
     @Override
     public void draw(@NonNull Canvas canvas) {
+        if (labelAtlas != null && labelAtlas.draw(canvas, this)) {
+            return;
+        }
+        drawLabel(canvas);
+    }
+
+    /**
+     * Style of label in {@link LabelAtlas}, it is created again after paint change
+     */
+    @NonNull
+    LabelAtlas.Style getLabelStyle() {
+        if (labelStyle == null) {
+            labelStyle = new LabelAtlas.Style(paintText, paintBack, bgRadius, paddingLeft, paddingRight, textGravity);
+        }
+        return labelStyle;
+    }
+
+    /**
+     * Draw background and text in current bounds
+     */
+    void drawLabel(@NonNull Canvas canvas) {
         if (paintBack.getColor() != Color.TRANSPARENT || paintBack.getAlpha() > 0) {
             canvas.drawRoundRect(bgBounds, bgRadius, bgRadius, paintBack);
         }
@@ -93,10 +134,114 @@ public class SimpleTextDrawable extends Drawable {
     public void setText(@NonNull String text) {
         if (!text.equals(this.textForDraw)) {
             this.textForDraw = text;
+            long size = findMeasuredSize(text);
+            if (size != TextMeasureCache.MISSING) {
+                textWidth = TextMeasureCache.width(size);
+                textHeight = TextMeasureCache.height(size);
+                return;
+            }
+
             paintText.getTextBounds(text, 0, text.length(), textBounds);
             textHeight = textBounds.height();
             textWidth = textBounds.width();
+            if (measureCache != null) {
+                measureCache.put(text, textWidth, textHeight);
+            }
+        }
+    }
+
+    private long findMeasuredSize(@NonNull String text) {
+        if (prefetch != null) {
+            Long prefetched = prefetch.sizes.get(text);
+            if (prefetched != null) {
+                prefetchHitCount++;
+                return prefetched;
+            }
         }
+        return measureCache != null ? measureCache.get(text) : TextMeasureCache.MISSING;
+    }
+
+    /**
+     * Same as {@link #prefetch(List, Executor, Runnable)} without completion callback
+     */
+    @NonNull
+    public Prefetch prefetch(@NonNull List<String> texts, @NonNull Executor executor) {
+        return prefetch(texts, executor, null);
+    }
+
+    /**
+     * Measure texts on background executor. {@link #setText(String)} takes size of these texts
+     * from precomputed table and measures text on calling thread only if text wasn't prefetched.
+     * <p>
+     * Use it to submit all section labels of large data set up front. New prefetch cancels the previous one
+     * and replaces its table, table keeps at most 10000 distinct texts.
+     * Only sizes are prefetched, labels are rendered to bitmaps by {@link LabelAtlas} on the first draw.
+     *
+     * @param texts      texts which will be shown by this drawable
+     * @param executor   background executor
+     * @param onComplete called on executor thread when all texts are measured, not called if prefetch is cancelled
+     * @return handle to cancel prefetch or check if it's done
+     */
+    @NonNull
+    public Prefetch prefetch(@NonNull final List<String> texts, @NonNull Executor executor, @Nullable final Runnable onComplete) {
+        if (prefetch != null) {
+            prefetch.cancel();
+        }
+        final Paint paint = new Paint(paintText);
+        final Prefetch prefetch = new Prefetch();
+        this.prefetch = prefetch;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Rect bounds = new Rect();
+                for (int i = 0; i < texts.size() && prefetch.sizes.size() < MAX_PREFETCHED_SIZE; i++) {
+                    if (prefetch.isCancelled()) {
+                        break;
+                    }
+                    String text = texts.get(i);
+                    if (!prefetch.sizes.containsKey(text)) {
+                        paint.getTextBounds(text, 0, text.length(), bounds);
+                        prefetch.sizes.put(text, TextMeasureCache.pack(bounds.width(), bounds.height()));
+                    }
+                }
+                if (prefetch.isCancelled()) {
+                    return;
+                }
+                prefetch.done = true;
+                if (onComplete != null) {
+                    onComplete.run();
+                }
+            }
+        });
+        return prefetch;
+    }
+
+    /**
+     * Cancel prefetch and drop sizes of texts measured by {@link #prefetch(List, Executor, Runnable)}
+     */
+    public void clearPrefetched() {
+        if (prefetch != null) {
+            prefetch.cancel();
+            prefetch = null;
+        }
+    }
+
+    /**
+     * Count of {@link #setText(String)} calls which took text size from measure cache or prefetched table
+     *
+     * @return measure cache hit count
+     */
+    public int getMeasureCacheHitCount() {
+        return prefetchHitCount + (measureCache != null ? measureCache.getHitCount() : 0);
+    }
+
+    /**
+     * Count of {@link #setText(String)} calls which measured text
+     *
+     * @return measure cache miss count
+     */
+    public int getMeasureCacheMissCount() {
+        return measureCache != null ? measureCache.getMissCount() : 0;
     }
 
     /**
@@ -227,6 +372,36 @@ public class SimpleTextDrawable extends Drawable {
         LEFT, RIGHT, CENTER
     }
 
+    /**
+     * Handle of texts measuring started by {@link #prefetch(List, Executor, Runnable)}
+     */
+    public static final class Prefetch {
+        final ConcurrentHashMap<String, Long> sizes = new ConcurrentHashMap<>();
+        private volatile boolean cancelled = false;
+        private volatile boolean done = false;
+
+        Prefetch() {
+        }
+
+        /**
+         * Stop measuring of remaining texts. Sizes which are already measured are still used by drawable
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return true if all texts are measured
+         */
+        public boolean isDone() {
+            return done;
+        }
+    }
+
     public static class Builder {
         private float textSize = Util.dpToPxF(12);
         private int colorText = Color.BLACK;
@@ -238,6 +413,8 @@ public class SimpleTextDrawable extends Drawable {
         private int paddingBottom = 0;
         private SimpleGravity gravity = SimpleGravity.CENTER;
         private Typeface typeface;
+        private int measureCacheSize = 32;
+        private LabelAtlas labelAtlas;
 
         /**
          * Set up text size in pixels
@@ -446,6 +623,34 @@ public class SimpleTextDrawable extends Drawable {
             return this;
         }
 
+        /**
+         * Set up max count of texts which sizes are cached.
+         * Repeated texts like month names are measured only once.
+         * <p>
+         * 32 by default, 0 disables cache
+         *
+         * @param measureCacheSize max count of cached text sizes
+         * @return updated builder instance
+         */
+        public Builder setMeasureCacheSize(int measureCacheSize) {
+            this.measureCacheSize = measureCacheSize;
+            return this;
+        }
+
+        /**
+         * Set up shared atlas with pre-rendered labels.
+         * Each distinct label is rendered once and then drawn as bitmap.
+         * <p>
+         * Use it when labels come from small fixed vocabulary like dates, letters or status names
+         *
+         * @param labelAtlas atlas for labels, null to draw text every frame
+         * @return updated builder instance
+         */
+        public Builder setLabelAtlas(@Nullable LabelAtlas labelAtlas) {
+            this.labelAtlas = labelAtlas;
+            return this;
+        }
+
         @NonNull
         public SimpleTextDrawable build() {
             SimpleTextDrawable drawable = new SimpleTextDrawable(textSize,
@@ -457,7 +662,9 @@ public class SimpleTextDrawable extends Drawable {
                     paddingTop,
                     paddingRight,
                     paddingBottom,
-                    typeface);
+                    typeface,
+                    measureCacheSize,
+                    labelAtlas);
 
             drawable.setText("0"); // init drawable height
             return drawable;
@@ -0,0 +1,39 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+/**
+ * Finds the topmost visible adapter position of {@link StaggeredGridLayoutManager}.
+ * In staggered grid the first child is not always the topmost item,
+ * so the first visible position of each span is taken and the minimal one is used.
+ * For reversed layout the maximal last visible position is used.
+ */
+final class StaggeredTopPosition {
+    private int[] positions = new int[0];
+
+    int find(@NonNull StaggeredGridLayoutManager layout, boolean reverseLayout) {
+        int spanCount = layout.getSpanCount();
+        if (positions.length != spanCount) {
+            positions = new int[spanCount];
+        }
+
+        if (reverseLayout) {
+            layout.findLastVisibleItemPositions(positions);
+        } else {
+            layout.findFirstVisibleItemPositions(positions);
+        }
+
+        int top = RecyclerView.NO_POSITION;
+        for (int position : positions) {
+            if (position == RecyclerView.NO_POSITION) {
+                continue;
+            }
+            if (top == RecyclerView.NO_POSITION || (reverseLayout ? position > top : position < top)) {
+                top = position;
+            }
+        }
+        return top;
+    }
+}
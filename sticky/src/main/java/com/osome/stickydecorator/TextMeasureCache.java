@@ -0,0 +1,64 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of text size measured with one Paint configuration.
+ * Width and height are packed in to single long value.
+ */
+final class TextMeasureCache {
+    static final long MISSING = Long.MIN_VALUE;
+
+    private final LinkedHashMap<String, Long> cache;
+    private int hitCount = 0;
+    private int missCount = 0;
+
+    TextMeasureCache(final int maxSize) {
+        cache = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return packed text size or {@link #MISSING}
+     */
+    long get(@NonNull String text) {
+        Long size = cache.get(text);
+        if (size == null) {
+            missCount++;
+            return MISSING;
+        }
+        hitCount++;
+        return size;
+    }
+
+    void put(@NonNull String text, int width, int height) {
+        cache.put(text, pack(width, height));
+    }
+
+    int getHitCount() {
+        return hitCount;
+    }
+
+    int getMissCount() {
+        return missCount;
+    }
+
+    static int width(long size) {
+        return (int) (size >> 32);
+    }
+
+    static int height(long size) {
+        return (int) size;
+    }
+
+    static long pack(int width, int height) {
+        return ((long) width << 32) | (height & 0xffffffffL);
+    }
+}
@@ -5,27 +5,61 @@ import android.graphics.Rect;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 
 /**
  * Draws sections decoration
  * By default decor draw full width and height allocated in {@link ConditionItemDecorator.Decor#getConditionItemOffsets(RecyclerView, Rect, View, int)}
+ * <p>
+ * Frame callbacks call per-child {@link #onDrawOver(Canvas, RecyclerView, View, int, RecyclerView.State)} and
+ * {@link #onPostDrawOver(Canvas, RecyclerView, RecyclerView.State)}, so subclass can override any of them.
+ * While frame is drawn {@link #getDecoratedViewBounds(RecyclerView, View)} takes bounds from {@link DrawFrame} snapshot.
+ * <p>
+ * With {@link GridLayoutManager} all cells of section first row reserve section offset to stay aligned,
+ * but section is drawn once per row and spans the full row width.
  */
-public abstract class VerticalSectionDecor implements ConditionItemDecorator.Decor {
+public abstract class VerticalSectionDecor implements ConditionItemDecorator.FrameDecor {
     protected GridLayoutManager.SpanSizeLookup spanSizeLookup = new GridLayoutManager.DefaultSpanSizeLookup();
+    private boolean customSpanSizeLookup = false;
 
     protected final Rect decoratedBounds = new Rect();
     protected final Rect viewBounds = new Rect();
     private Rect sectionBounds = new Rect();
+    @Nullable
+    private DrawFrame drawFrame;
+    private int frameIndex = -1;
+    private int spanCount = 1;
+    private int lastSectionGroup = -1;
+    private boolean staggeredLayout = false;
+    private final SectionSizeCache sizeCache = new SectionSizeCache(new Runnable() {
+        @Override
+        public void run() {
+            onOffsetsInvalidated();
+        }
+    });
 
     @Override
     public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull View child, int position, @NonNull RecyclerView.State state) {
+        if (!isFirstSectionInRow(position)) {
+            return;
+        }
         Rect decoratedBounds = getDecoratedViewBounds(parent, child);
         Rect bounds = getViewBounds(parent, child);
         onDrawSectionInternal(c, position, getSectionBounds(parent, position, bounds, decoratedBounds), child);
     }
 
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull DrawFrame frame, int index, @NonNull RecyclerView.State state) {
+        drawFrame = frame;
+        frameIndex = index;
+        onDrawOver(c, parent, frame.getChild(index), frame.getPosition(index), state);
+        drawFrame = null;
+        frameIndex = -1;
+    }
+
     /**
      * Returns the bounds of the view including its decoration and margins.
      * This bounds also include view translations
@@ -34,7 +68,12 @@ public abstract class VerticalSectionDecor implements ConditionItemDecorator.Dec
      * @return The bounds of the view including its decoration and margins.
      */
     protected Rect getDecoratedViewBounds(@NonNull RecyclerView parent, @NonNull View child) {
-        parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
+        if (drawFrame != null && frameIndex >= 0 && drawFrame.getChild(frameIndex) == child) {
+            // bounds are already collected in frame
+            drawFrame.getDecoratedBounds(frameIndex, decoratedBounds);
+        } else {
+            parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
+        }
         addTranslationOffsetToViewBounds(child, decoratedBounds);
         return decoratedBounds;
     }
@@ -69,19 +108,102 @@ public abstract class VerticalSectionDecor implements ConditionItemDecorator.Dec
         viewBounds.offset((int) child.getTranslationX(), (int) child.getTranslationY());
     }
 
+    /**
+     * In grid only the first section cell of each row draws section, other cells of the row are skipped
+     */
+    private boolean isFirstSectionInRow(int position) {
+        if (!isGridLayout()) {
+            return true;
+        }
+        int group = spanSizeLookup.getSpanGroupIndex(position, spanCount);
+        if (group == lastSectionGroup) {
+            return false;
+        }
+        lastSectionGroup = group;
+        return true;
+    }
+
+    /**
+     * Same as {@link #isFirstSectionInRow(int)} for frame child, but doesn't depend on the order of calls:
+     * cells of the row before the child are checked, so it can be used outside of section pass
+     */
+    boolean isFirstSectionInRow(@NonNull DrawFrame frame, int index) {
+        if (!isGridLayout()) {
+            return true;
+        }
+        int group = spanSizeLookup.getSpanGroupIndex(frame.getPosition(index), spanCount);
+        for (int i = index - 1; i >= 0; i--) {
+            if (spanSizeLookup.getSpanGroupIndex(frame.getPosition(i), spanCount) != group) {
+                return true;
+            }
+            if (frame.isForDrawOver(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isGridLayout() {
+        return spanCount > 1;
+    }
+
+    boolean isStaggeredLayout() {
+        return staggeredLayout;
+    }
+
     @NonNull
     protected Rect getSectionBounds(@NonNull RecyclerView parent, int position, @NonNull Rect viewBounds, @NonNull Rect decoratedBounds) {
-        int left = viewBounds.left;
+        int left = isGridLayout() ? parent.getPaddingLeft() : viewBounds.left;
         int top = decoratedBounds.top + getSectionMarginTop();
-        int right = viewBounds.right;
+        int right = isGridLayout() ? parent.getWidth() - parent.getPaddingRight() : viewBounds.right;
         int bottom = viewBounds.top - getSectionMarginBottom();
         sectionBounds.set(left, top, right, bottom);
         return sectionBounds;
     }
 
+    /**
+     * Decorated bounds of frame child through overridable {@link #getDecoratedViewBounds(RecyclerView, View)},
+     * which takes them from frame instead of querying RecyclerView
+     */
+    @NonNull
+    Rect getDecoratedViewBounds(@NonNull RecyclerView parent, @NonNull DrawFrame frame, int index) {
+        DrawFrame previousFrame = drawFrame;
+        drawFrame = frame;
+        frameIndex = index;
+        Rect bounds = getDecoratedViewBounds(parent, frame.getChild(index));
+        drawFrame = previousFrame;
+        frameIndex = -1;
+        return bounds;
+    }
+
+    /**
+     * Section bounds of frame child, resolved through the same overridable hooks as in section pass
+     */
+    @NonNull
+    Rect getSectionBounds(@NonNull RecyclerView parent, @NonNull DrawFrame frame, int index) {
+        Rect decoratedBounds = getDecoratedViewBounds(parent, frame, index);
+        Rect bounds = getViewBounds(parent, frame.getChild(index));
+        return getSectionBounds(parent, frame.getPosition(index), bounds, decoratedBounds);
+    }
+
     @Override
     public void prepareDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        lastSectionGroup = -1;
+        RecyclerView.LayoutManager layout = parent.getLayoutManager();
+        staggeredLayout = layout instanceof StaggeredGridLayoutManager;
+        if (!(layout instanceof GridLayoutManager)) {
+            spanCount = 1;
+            return;
+        }
 
+        GridLayoutManager grid = (GridLayoutManager) layout;
+        spanCount = grid.getSpanCount();
+        if (!customSpanSizeLookup && spanSizeLookup != grid.getSpanSizeLookup()) {
+            // grid invalidates caches of its own lookup on adapter changes, so they are safe to enable
+            spanSizeLookup = grid.getSpanSizeLookup();
+            spanSizeLookup.setSpanIndexCacheEnabled(true);
+            spanSizeLookup.setSpanGroupIndexCacheEnabled(true);
+        }
     }
 
     @Override
@@ -89,6 +211,21 @@ public abstract class VerticalSectionDecor implements ConditionItemDecorator.Dec
 
     }
 
+    @Override
+    public void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull DrawFrame frame, @NonNull RecyclerView.State state) {
+        drawFrame = frame;
+        onPostDrawOver(c, parent, state);
+        drawFrame = null;
+    }
+
+    /**
+     * @return frame snapshot while frame callback is running, null if decor is called per child
+     */
+    @Nullable
+    DrawFrame getDrawFrame() {
+        return drawFrame;
+    }
+
     @Override
     public void getItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position, @NonNull RecyclerView.State state) {
 
@@ -97,7 +234,69 @@ public abstract class VerticalSectionDecor implements ConditionItemDecorator.Dec
 
     @Override
     public void getConditionItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position) {
-        rect.top += getSectionHeight(position) + getSectionMarginTop() + getSectionMarginBottom();
+        rect.top += getSectionHeightInternal(parent, position) + getSectionMarginTop() + getSectionMarginBottom();
+    }
+
+    /**
+     * Enable cached offsets. Section heights are requested once per section and data or width change
+     * and stored per section in primitive array, so layout pass doesn't measure sections again.
+     * Adapter range events drop only heights of touched sections and shift the rest, full change and
+     * RecyclerView width change drop the whole cache. Call {@link #invalidateOffsets()} if section height
+     * depends on something else.
+     *
+     * @param enabled true to cache section heights, false otherwise
+     */
+    public void setOffsetsCacheEnabled(boolean enabled) {
+        sizeCache.setEnabled(enabled);
+    }
+
+    /**
+     * Drop cached section heights, they will be requested again on next layout pass
+     */
+    public void invalidateOffsets() {
+        sizeCache.invalidate();
+    }
+
+    void onOffsetsInvalidated() {
+    }
+
+    boolean isOffsetsCacheEnabled() {
+        return sizeCache.isEnabled();
+    }
+
+    /**
+     * Keep cache bound to current adapter and width of RecyclerView
+     */
+    void validateOffsets(@NonNull RecyclerView parent) {
+        sizeCache.validate(parent, parent.getWidth());
+    }
+
+    void putDrawnSectionHeight(int position, int height) {
+        sizeCache.putDrawnSize(position, height);
+    }
+
+    /**
+     * Drawn height of section which owns item at position: the nearest section before it
+     * or after it in reversed layout
+     *
+     * @return section height or {@link SectionHeights#MISSING} if section wasn't drawn yet
+     */
+    int getOwnerSectionHeight(int position, boolean reverseLayout) {
+        return sizeCache.getOwnerDrawnSize(position, reverseLayout);
+    }
+
+    int getSectionHeightInternal(@NonNull RecyclerView parent, int position) {
+        if (!sizeCache.isEnabled()) {
+            return getSectionHeight(position);
+        }
+
+        validateOffsets(parent);
+        int height = sizeCache.getOffsetSize(position);
+        if (height == SectionHeights.MISSING) {
+            height = getSectionHeight(position);
+            sizeCache.putOffsetSize(position, height);
+        }
+        return height;
     }
 
     /**
@@ -126,7 +325,18 @@ public abstract class VerticalSectionDecor implements ConditionItemDecorator.Dec
         return 0;
     }
 
+    /**
+     * Set up span size lookup for grid. By default lookup is taken from {@link GridLayoutManager}
+     * and its span index and span group index caches are enabled, so row lookups don't scan whole list.
+     * <p>
+     * Caches of lookup passed here are left as is. {@link GridLayoutManager} invalidates caches only of its own lookup,
+     * so if caches of this lookup are enabled call {@link GridLayoutManager.SpanSizeLookup#invalidateSpanIndexCache()}
+     * and {@link GridLayoutManager.SpanSizeLookup#invalidateSpanGroupIndexCache()} on adapter changes.
+     *
+     * @param spanSizeLookup span size lookup of grid
+     */
     public void setSpanSizeLookup(GridLayoutManager.SpanSizeLookup spanSizeLookup) {
         this.spanSizeLookup = spanSizeLookup;
+        customSpanSizeLookup = true;
     }
 }
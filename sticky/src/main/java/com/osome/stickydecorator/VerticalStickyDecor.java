@@ -6,11 +6,19 @@ import android.view.View;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 
 /**
  * Draws section decoration and sticky header on the top of RecyclerView.
  * Now tested only with {@link androidx.recyclerview.widget.LinearLayoutManager} and vertical orientation.
  * Support reversed layout.
+ * <p>
+ * With {@link StaggeredGridLayoutManager} header is resolved from the child which crosses the bottom of the header,
+ * or from the topmost visible position across spans if no child does, and spans the full width.
+ * Section items should be full span in this case.
+ * <p>
+ * Sections may have different heights: drawn section heights are kept per section and sticky header takes
+ * the height of the section it belongs to, so header is pushed out by the next section at the right point.
  */
 public abstract class VerticalStickyDecor extends VerticalSectionDecor {
     public static int HEADER_HEIGHT_UNDEFINED = -1;
@@ -20,6 +28,8 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
     private int lastHeaderHeight = 0;
     private Rect headerBounds = new Rect();
     private boolean reverseLayout;
+    private int cachedHeaderOffset = HEADER_HEIGHT_UNDEFINED;
+    private final StaggeredTopPosition staggeredTop = new StaggeredTopPosition();
 
     public VerticalStickyDecor() {
         this(false);
@@ -32,19 +42,38 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
     @Override
     public void getItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position, @NonNull RecyclerView.State state) {
         super.getItemOffsets(parent, rect, view, position, state);
-        int count = 0;
+        if (reverseLayout && position == getItemCount(parent) - 1) {
+            rect.top += getHeaderOffset(parent);
+        }
+    }
+
+    private static int getItemCount(@NonNull RecyclerView parent) {
         RecyclerView.LayoutManager layout = parent.getLayoutManager();
-        if (layout != null) {
-            count = layout.getItemCount();
+        return layout != null ? layout.getItemCount() : 0;
+    }
+
+    private int getHeaderOffset(@NonNull RecyclerView parent) {
+        if (!isOffsetsCacheEnabled()) {
+            return getHeaderHeight() + getHeaderMarginTop() + getHeaderMarginBottom();
         }
-        if (reverseLayout && position == count - 1) {
-            rect.top += getHeaderHeight() + getHeaderMarginTop() + getHeaderMarginBottom();
+
+        validateOffsets(parent);
+        if (cachedHeaderOffset == HEADER_HEIGHT_UNDEFINED) {
+            cachedHeaderOffset = getHeaderHeight() + getHeaderMarginTop() + getHeaderMarginBottom();
         }
+        return cachedHeaderOffset;
+    }
+
+    @Override
+    void onOffsetsInvalidated() {
+        cachedHeaderOffset = HEADER_HEIGHT_UNDEFINED;
     }
 
     @Override
     public void prepareDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         super.prepareDrawOver(c, parent, state);
+        // keep section heights in sync with adapter
+        validateOffsets(parent);
 
         // clear last header state
         contactPosition = RecyclerView.NO_POSITION;
@@ -59,7 +88,19 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
         }
 
         lastHeaderHeight = sectionBounds.height();
-        int contactPoint = getHeaderHeightInternal() + getHeaderMarginTop() + getHeaderMarginBottom();
+        putDrawnSectionHeight(position, lastHeaderHeight);
+        if (getDrawFrame() == null) {
+            // called per child, there is no frame to walk after section pass
+            checkContactSection(position, sectionBounds);
+        }
+    }
+
+    /**
+     * Section pushes out header of previous section
+     */
+    private void checkContactSection(int position, @NonNull Rect sectionBounds) {
+        int previousPosition = reverseLayout ? position + 1 : position - 1;
+        int contactPoint = getHeaderHeightInternal(previousPosition) + getHeaderMarginTop() + getHeaderMarginBottom();
         if ((contactPoint >= sectionBounds.top && contactPoint < sectionBounds.bottom + getHeaderMarginBottom())) {
             contactSection.isValid = true;
             contactSection.position = position;
@@ -70,19 +111,152 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
     @Override
     public void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         super.onPostDrawOver(c, parent, state);
-        for (int i = 0; i < parent.getChildCount(); i++) {
+        DrawFrame frame = getDrawFrame();
+        if (frame != null) {
+            findContacts(parent, frame);
+        } else {
+            findContactPosition(parent);
+        }
+        drawHeaderInternal(c, parent, state);
+    }
+
+    /**
+     * Find contact section and contact position in one walk over frame from the top edge of RecyclerView.
+     * Section can push out header only while its top is above the bottom of header of the section before it,
+     * so walk stops on the first child below that point and only children near the top are touched.
+     */
+    private void findContacts(@NonNull RecyclerView parent, @NonNull DrawFrame frame) {
+        int count = frame.getCount();
+        if (count == 0) {
+            return;
+        }
+        if (isStaggeredLayout()) {
+            findStaggeredContactSection(parent, frame);
+            findStaggeredContactPosition(parent);
+            return;
+        }
+
+        int topPosition = frame.getPosition(reverseLayout ? count - 1 : 0);
+        int contactPoint = getHeaderHeightInternal(topPosition) + getHeaderMarginTop();
+        // the first section may belong to the section above the top child
+        int sectionContactPoint = getHeaderHeightInternal(reverseLayout ? topPosition + 1 : topPosition - 1)
+                + getHeaderMarginTop() + getHeaderMarginBottom();
+        int contactIndex = -1;
+        for (int i = 0; i < count; i++) {
+            int index = reverseLayout ? count - 1 - i : i;
+            int top = frame.getDecoratedTop(index);
+            if (top > contactPoint && top > sectionContactPoint) {
+                break;
+            }
+            if (top <= contactPoint && (contactIndex == -1 || !reverseLayout)) {
+                // the last child above contact point, or the topmost one in reversed layout
+                contactIndex = index;
+            }
+            if (frame.isForDrawOver(index) && isFirstSectionInRow(frame, index)) {
+                int position = frame.getPosition(index);
+                // the last contact section in child order wins: the lowest one, or the topmost one in reversed layout
+                if (!(reverseLayout && contactSection.isValid)) {
+                    checkContactSection(position, getSectionBounds(parent, frame, index));
+                }
+                // children below belong to this section
+                sectionContactPoint = getHeaderHeightInternal(position) + getHeaderMarginTop() + getHeaderMarginBottom();
+            }
+        }
+
+        if (contactIndex != -1) {
+            contactPosition = frame.getPosition(contactIndex);
+            frame.getDecoratedBounds(contactIndex, decoratedBounds);
+            getViewBounds(parent, frame.getChild(contactIndex));
+        }
+    }
+
+    /**
+     * Children of staggered grid are not ordered by top edge, so all sections of frame are checked
+     */
+    private void findStaggeredContactSection(@NonNull RecyclerView parent, @NonNull DrawFrame frame) {
+        for (int index = 0, count = frame.getCount(); index < count; index++) {
+            if (frame.isForDrawOver(index)) {
+                checkContactSection(frame.getPosition(index), getSectionBounds(parent, frame, index));
+            }
+        }
+    }
+
+    /**
+     * Find the last child above contact point. Children are walked from the top edge of RecyclerView
+     * and walk stops on the first child below contact point, so only children near the top are touched.
+     */
+    private void findContactPosition(@NonNull RecyclerView parent) {
+        if (isStaggeredLayout()) {
+            findStaggeredContactPosition(parent);
+            return;
+        }
+        int childCount = parent.getChildCount();
+        if (childCount == 0) {
+            return;
+        }
+        int topPosition = parent.getChildAdapterPosition(parent.getChildAt(reverseLayout ? childCount - 1 : 0));
+        int contactPoint = getHeaderHeightInternal(topPosition) + getHeaderMarginTop();
+        View contactChild = null;
+        for (int i = 0; i < childCount; i++) {
+            // in reversed layout the first child is at the bottom
+            View child = parent.getChildAt(reverseLayout ? childCount - 1 - i : i);
+            parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
+            if (decoratedBounds.top > contactPoint) {
+                break;
+            }
+            contactChild = child;
+            if (reverseLayout) {
+                break;
+            }
+        }
+
+        if (contactChild != null) {
+            contactPosition = parent.getChildAdapterPosition(contactChild);
+            parent.getDecoratedBoundsWithMargins(contactChild, decoratedBounds);
+            getViewBounds(parent, contactChild);
+        }
+    }
+
+    /**
+     * Children of staggered grid are not ordered by top edge, so walk doesn't stop early: contact position is
+     * the last in adapter order child which crosses contact point, as in linear layout.
+     * If no child crosses it (e.g. gap between spans), the topmost visible position across spans is used
+     */
+    private void findStaggeredContactPosition(@NonNull RecyclerView parent) {
+        StaggeredGridLayoutManager layout = (StaggeredGridLayoutManager) parent.getLayoutManager();
+        int topPosition = staggeredTop.find(layout, reverseLayout);
+        if (topPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int contactPoint = getHeaderHeightInternal(topPosition) + getHeaderMarginTop();
+        View contactChild = null;
+        int position = RecyclerView.NO_POSITION;
+        int childCount = parent.getChildCount();
+        for (int i = 0; i < childCount; i++) {
             View child = parent.getChildAt(i);
-            int position = parent.getChildAdapterPosition(child);
             parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
-            getViewBounds(parent, child);
-            int viewTop = decoratedBounds.top;
-            int contactPoint = getHeaderHeightInternal() + getHeaderMarginTop();
-            if (viewTop <= contactPoint) {
-                contactPosition = position;
+            if (decoratedBounds.top > contactPoint || decoratedBounds.bottom <= contactPoint) {
+                continue;
+            }
+            int childPosition = parent.getChildAdapterPosition(child);
+            if (childPosition != RecyclerView.NO_POSITION && (position == RecyclerView.NO_POSITION || childPosition > position)) {
+                contactChild = child;
+                position = childPosition;
             }
         }
 
-        drawHeaderInternal(c, parent, state);
+        if (contactChild == null) {
+            contactChild = layout.findViewByPosition(topPosition);
+            if (contactChild == null) {
+                return;
+            }
+            position = topPosition;
+        }
+
+        contactPosition = position;
+        getDecoratedViewBounds(parent, contactChild);
+        getViewBounds(parent, contactChild);
     }
 
     private void drawHeaderInternal(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
@@ -100,7 +274,7 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
 
         if (contactPosition != RecyclerView.NO_POSITION) {
             int itemPosition = contactPosition;
-            int headerBottom = getHeaderMarginTop() + getHeaderHeightInternal();
+            int headerBottom = getHeaderMarginTop() + getHeaderHeightInternal(itemPosition);
             Rect headerBounds = getHeaderBounds(parent, headerBottom, itemPosition, viewBounds, decoratedBounds);
             onDrawHeader(c, itemPosition, headerBounds);
         }
@@ -123,9 +297,10 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
 
     @NonNull
     protected Rect getHeaderBounds(@NonNull RecyclerView parent, int headerBottom, int itemPosition, @NonNull Rect viewBounds, @NonNull Rect decoratedBounds) {
-        int left = decoratedBounds.left;
-        int top = headerBottom - getHeaderHeightInternal();
-        int right = decoratedBounds.right;
+        boolean fullRow = isGridLayout() || isStaggeredLayout();
+        int left = fullRow ? parent.getPaddingLeft() : decoratedBounds.left;
+        int top = headerBottom - getHeaderHeightInternal(itemPosition);
+        int right = fullRow ? parent.getWidth() - parent.getPaddingRight() : decoratedBounds.right;
         headerBounds.set(left, top, right, headerBottom);
         return headerBounds;
     }
@@ -147,12 +322,17 @@ public abstract class VerticalStickyDecor extends VerticalSectionDecor {
         return HEADER_HEIGHT_UNDEFINED;
     }
 
-    private int getHeaderHeightInternal() {
+    /**
+     * Height of header for item position: user height, drawn height of section the item belongs to
+     * or height of the last drawn section if that section wasn't drawn yet
+     */
+    private int getHeaderHeightInternal(int itemPosition) {
         int userHeight = getHeaderHeight();
         if (userHeight != HEADER_HEIGHT_UNDEFINED) {
             return userHeight;
         }
-        return lastHeaderHeight;
+        int sectionHeight = getOwnerSectionHeight(itemPosition, reverseLayout);
+        return sectionHeight != SectionHeights.MISSING ? sectionHeight : lastHeaderHeight;
     }
 
     private static class Section {
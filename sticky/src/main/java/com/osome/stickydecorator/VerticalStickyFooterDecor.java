@@ -0,0 +1,238 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Draws section decoration below item and sticky footer on the bottom of RecyclerView.
+ * Condition should match the last item of each section. Footer of the next section pushes pinned footer down.
+ * Mirrors {@link VerticalStickyDecor} to the bottom edge. Support reversed layout.
+ * <p>
+ * Sections may have different heights: drawn section heights are kept per section and sticky footer takes
+ * the height of the section it belongs to.
+ */
+public abstract class VerticalStickyFooterDecor extends VerticalSectionDecor {
+    public static int FOOTER_HEIGHT_UNDEFINED = -1;
+
+    private int contactPosition = RecyclerView.NO_POSITION;
+    private Section contactSection = new Section(-1, RecyclerView.NO_POSITION);
+    private int lastFooterHeight = 0;
+    private int parentHeight = 0;
+    private Rect footerBounds = new Rect();
+    private final Rect sectionBounds = new Rect();
+    private boolean reverseLayout;
+
+    public VerticalStickyFooterDecor() {
+        this(false);
+    }
+
+    public VerticalStickyFooterDecor(boolean reverseLayout) {
+        this.reverseLayout = reverseLayout;
+    }
+
+    @Override
+    public void getConditionItemOffsets(@NonNull RecyclerView parent, @NonNull Rect rect, @NonNull View view, int position) {
+        rect.bottom += getSectionHeightInternal(parent, position) + getSectionMarginTop() + getSectionMarginBottom();
+    }
+
+    @NonNull
+    @Override
+    protected Rect getSectionBounds(@NonNull RecyclerView parent, int position, @NonNull Rect viewBounds, @NonNull Rect decoratedBounds) {
+        int left = isGridLayout() ? parent.getPaddingLeft() : viewBounds.left;
+        int top = viewBounds.bottom + getSectionMarginTop();
+        int right = isGridLayout() ? parent.getWidth() - parent.getPaddingRight() : viewBounds.right;
+        int bottom = decoratedBounds.bottom - getSectionMarginBottom();
+        sectionBounds.set(left, top, right, bottom);
+        return sectionBounds;
+    }
+
+    @Override
+    public void prepareDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        super.prepareDrawOver(c, parent, state);
+        // keep section heights in sync with adapter
+        validateOffsets(parent);
+
+        // clear last footer state
+        parentHeight = parent.getHeight();
+        contactPosition = RecyclerView.NO_POSITION;
+        contactSection.isValid = false;
+    }
+
+    @Override
+    void onDrawSectionInternal(@NonNull Canvas c, int position, @NonNull Rect sectionBounds, @NonNull View child) {
+        if (sectionBounds.bottom < parentHeight - getFooterMarginBottom()) {
+            // don't draw section below footer
+            super.onDrawSectionInternal(c, position, sectionBounds, child);
+        }
+
+        lastFooterHeight = sectionBounds.height();
+        putDrawnSectionHeight(position, lastFooterHeight);
+        // section pushes out footer of next section
+        int nextPosition = reverseLayout ? position - 1 : position + 1;
+        int contactPoint = parentHeight - (getFooterHeightInternal(nextPosition) + getFooterMarginTop() + getFooterMarginBottom());
+        if ((contactPoint <= sectionBounds.bottom && contactPoint > sectionBounds.top - getFooterMarginTop())) {
+            contactSection.isValid = true;
+            contactSection.position = position;
+            contactSection.bottom = sectionBounds.bottom;
+        }
+    }
+
+    @Override
+    public void onPostDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        super.onPostDrawOver(c, parent, state);
+        DrawFrame frame = getDrawFrame();
+        if (frame != null) {
+            findContactPosition(parent, frame);
+        } else {
+            findContactPosition(parent);
+        }
+        drawFooterInternal(c, parent, state);
+    }
+
+    /**
+     * Same as {@link #findContactPosition(RecyclerView)} but takes positions and bounds from frame snapshot
+     */
+    private void findContactPosition(@NonNull RecyclerView parent, @NonNull DrawFrame frame) {
+        int count = frame.getCount();
+        if (count == 0) {
+            return;
+        }
+        int bottomPosition = frame.getPosition(reverseLayout ? 0 : count - 1);
+        int contactPoint = parentHeight - getFooterHeightInternal(bottomPosition) - getFooterMarginBottom();
+        int contactIndex = -1;
+        for (int i = 0; i < count; i++) {
+            int index = reverseLayout ? i : count - 1 - i;
+            if (frame.getDecoratedBottom(index) < contactPoint) {
+                break;
+            }
+            contactIndex = index;
+        }
+
+        if (contactIndex != -1) {
+            contactPosition = frame.getPosition(contactIndex);
+            getDecoratedViewBounds(parent, frame, contactIndex);
+            getViewBounds(parent, frame.getChild(contactIndex));
+        }
+    }
+
+    /**
+     * Find the last child below contact point. Children are walked from the bottom edge of RecyclerView
+     * and walk stops on the first child above contact point, so only children near the bottom are touched.
+     */
+    private void findContactPosition(@NonNull RecyclerView parent) {
+        int childCount = parent.getChildCount();
+        if (childCount == 0) {
+            return;
+        }
+        int bottomPosition = parent.getChildAdapterPosition(parent.getChildAt(reverseLayout ? 0 : childCount - 1));
+        int contactPoint = parentHeight - getFooterHeightInternal(bottomPosition) - getFooterMarginBottom();
+        View contactChild = null;
+        for (int i = 0; i < childCount; i++) {
+            // in reversed layout the first child is at the bottom
+            View child = parent.getChildAt(reverseLayout ? i : childCount - 1 - i);
+            parent.getDecoratedBoundsWithMargins(child, decoratedBounds);
+            if (decoratedBounds.bottom < contactPoint) {
+                break;
+            }
+            contactChild = child;
+        }
+
+        if (contactChild != null) {
+            contactPosition = parent.getChildAdapterPosition(contactChild);
+            getDecoratedViewBounds(parent, contactChild);
+            getViewBounds(parent, contactChild);
+        }
+    }
+
+    private void drawFooterInternal(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        if (contactSection.isValid) {
+            int itemPosition = getItemPosition(state);
+            int footerTop = contactSection.bottom + getFooterMarginTop();
+            Rect footerBounds = getFooterBounds(parent, footerTop, itemPosition, viewBounds, decoratedBounds);
+            // the last section has no next footer which could push it
+            int lastPosition = reverseLayout ? 0 : state.getItemCount() - 1;
+            if (contactSection.position == lastPosition && footerBounds.bottom + getFooterMarginBottom() > parentHeight) {
+                return;
+            }
+
+            onDrawFooter(c, itemPosition, footerBounds);
+            return;
+        }
+
+        if (contactPosition != RecyclerView.NO_POSITION) {
+            int itemPosition = contactPosition;
+            int footerTop = parentHeight - getFooterMarginBottom() - getFooterHeightInternal(itemPosition);
+            Rect footerBounds = getFooterBounds(parent, footerTop, itemPosition, viewBounds, decoratedBounds);
+            onDrawFooter(c, itemPosition, footerBounds);
+        }
+    }
+
+    private int getItemPosition(@NonNull RecyclerView.State state) {
+        return reverseLayout ?
+                Math.max(contactSection.position - 1, 0) :
+                Math.min(contactSection.position + 1, state.getItemCount() - 1);
+    }
+
+    /**
+     * Draw footer on canvas
+     *
+     * @param c            RecyclerView canvas
+     * @param position     item position from 0 to {@link RecyclerView.Adapter#getItemCount()}
+     * @param footerBounds footer bounds
+     */
+    protected abstract void onDrawFooter(@NonNull Canvas c, int position, @NonNull Rect footerBounds);
+
+    @NonNull
+    protected Rect getFooterBounds(@NonNull RecyclerView parent, int footerTop, int itemPosition, @NonNull Rect viewBounds, @NonNull Rect decoratedBounds) {
+        int left = isGridLayout() ? parent.getPaddingLeft() : decoratedBounds.left;
+        int right = isGridLayout() ? parent.getWidth() - parent.getPaddingRight() : decoratedBounds.right;
+        footerBounds.set(left, footerTop, right, footerTop + getFooterHeightInternal(itemPosition));
+        return footerBounds;
+    }
+
+    protected int getFooterMarginTop() {
+        return getSectionMarginTop();
+    }
+
+    protected int getFooterMarginBottom() {
+        return getSectionMarginBottom();
+    }
+
+    /**
+     * Return footer height. As default return -1. It means that footer height takes from section size
+     *
+     * @return footer height
+     */
+    protected int getFooterHeight() {
+        return FOOTER_HEIGHT_UNDEFINED;
+    }
+
+    /**
+     * Height of footer for item position: user height, drawn height of section the item belongs to
+     * or height of the last drawn section if that section wasn't drawn yet
+     */
+    private int getFooterHeightInternal(int itemPosition) {
+        int userHeight = getFooterHeight();
+        if (userHeight != FOOTER_HEIGHT_UNDEFINED) {
+            return userHeight;
+        }
+        // footer section is the nearest one in opposite direction to header section
+        int sectionHeight = getOwnerSectionHeight(itemPosition, !reverseLayout);
+        return sectionHeight != SectionHeights.MISSING ? sectionHeight : lastFooterHeight;
+    }
+
+    private static class Section {
+        int bottom;
+        int position;
+        boolean isValid = false;
+
+        Section(int bottom, int position) {
+            this.bottom = bottom;
+            this.position = position;
+        }
+    }
+}
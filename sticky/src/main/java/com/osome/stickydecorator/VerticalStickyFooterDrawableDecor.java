@@ -0,0 +1,59 @@
+package com.osome.stickydecorator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+public abstract class VerticalStickyFooterDrawableDecor extends VerticalStickyFooterDecor {
+
+    public VerticalStickyFooterDrawableDecor() {
+    }
+
+    public VerticalStickyFooterDrawableDecor(boolean reverseLayout) {
+        super(reverseLayout);
+    }
+
+    @Override
+    protected void onDrawFooter(@NonNull Canvas c, int position, @NonNull Rect footerBounds) {
+        Drawable drawable = getFooterDrawable(position, footerBounds);
+        onDrawFooterDrawable(c, position, footerBounds, drawable);
+    }
+
+    protected void onDrawFooterDrawable(@NonNull Canvas c, int position, @NonNull Rect footerBounds, @NonNull Drawable drawable) {
+        drawable.setBounds(footerBounds);
+        drawable.draw(c);
+    }
+
+    @Override
+    protected void onDrawSection(@NonNull Canvas c, int position, @NonNull Rect sectionBounds, @NonNull View child) {
+        Drawable drawable = getSectionDrawable(position, sectionBounds, child);
+        onDrawSectionDrawable(c, position, drawable, sectionBounds);
+    }
+
+    protected void onDrawSectionDrawable(@NonNull Canvas c, int position, @NonNull Drawable drawable, Rect bounds) {
+        drawable.setBounds(bounds);
+        drawable.draw(c);
+    }
+
+    /**
+     * Return drawable which will be drawn for section
+     *
+     * @param position      Adapter item position
+     * @param sectionBounds Section bounds
+     * @param child         RecyclerView's child view
+     */
+    @NonNull
+    protected abstract Drawable getSectionDrawable(int position, @NonNull Rect sectionBounds, @NonNull View child);
+
+    /**
+     * Return drawable which will be drawn for footer
+     *
+     * @param position     Adapter item position near by footer
+     * @param footerBounds Footer bounds
+     */
+    @NonNull
+    protected abstract Drawable getFooterDrawable(int position, @NonNull Rect footerBounds);
+}
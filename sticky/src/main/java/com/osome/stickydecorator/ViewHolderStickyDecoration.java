@@ -2,91 +2,385 @@ package com.osome.stickydecorator;
 
 import android.graphics.Canvas;
 import android.graphics.Rect;
-import android.util.Pair;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+import androidx.tracing.Trace;
 
 public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
 
     private Rect bounds = new Rect();
-    private Pair<Integer, RecyclerView.ViewHolder> currentHeader;
+    private HeaderSlot currentHeader = new HeaderSlot();
+    private HeaderSlot nextHeader = new HeaderSlot();
+    private RecyclerView.RecycledViewPool headerPool = new RecyclerView.RecycledViewPool();
+    private final HeaderIndex headerIndex = new HeaderIndex();
+    private final StaggeredTopPosition staggeredTop = new StaggeredTopPosition();
     private final Condition condition;
+    @Nullable
+    private final ConcatCondition concatCondition;
     private final boolean reverseLayout;
+    private final int orientation;
+    private final boolean footer;
+    private boolean lookAheadEnabled = false;
+    private boolean idlePrefetchEnabled = false;
+    private boolean snapshotEnabled = false;
+    private boolean scrollTowardEnd = true;
+    private final DecorationMetrics metrics = new DecorationMetrics();
+    @Nullable
+    private DecorationMetrics.Listener metricsListener;
+    private RecyclerView parent;
+    private RecyclerView.Adapter adapter;
+    private RecyclerView.AdapterDataObserver adapterObserver;
+    private View.OnLayoutChangeListener layoutChangeListener;
+    private RecyclerView.OnScrollListener scrollListener;
+    private Runnable idlePrefetch;
+    private boolean released = false;
 
     public ViewHolderStickyDecoration(@NonNull RecyclerView parent, @NonNull Condition condition) {
         this(parent, condition, false);
     }
 
     public ViewHolderStickyDecoration(@NonNull RecyclerView parent, @NonNull Condition condition, boolean reverseLayout) {
+        this(parent, condition, RecyclerView.VERTICAL, reverseLayout);
+    }
+
+    /**
+     * @param parent        RecyclerView with adapter
+     * @param condition     header condition
+     * @param orientation   layout orientation {@link RecyclerView#VERTICAL} or {@link RecyclerView#HORIZONTAL}.
+     *                      In horizontal orientation header sticks to the left edge, or to the right edge in RTL layout direction
+     * @param reverseLayout true if layout is reversed
+     */
+    public ViewHolderStickyDecoration(@NonNull RecyclerView parent, @NonNull Condition condition, int orientation, boolean reverseLayout) {
+        this(parent, condition, orientation, reverseLayout, false);
+    }
+
+    ViewHolderStickyDecoration(@NonNull RecyclerView parent, @NonNull Condition condition, int orientation, boolean reverseLayout, boolean footer) {
         this.condition = condition;
+        this.concatCondition = condition instanceof ConcatCondition ? (ConcatCondition) condition : null;
         this.reverseLayout = reverseLayout;
+        this.orientation = orientation;
+        this.footer = footer;
         init(parent);
     }
 
-    private void init(@NonNull RecyclerView parent) {
+    /**
+     * Set up pool for header view holders. Header holders are taken from this pool and re-bound
+     * instead of being created every time when pinned section changes.
+     * <p>
+     * You can pass {@link RecyclerView#getRecycledViewPool()} to share holders with RecyclerView.
+     *
+     * @param pool pool for header view holders
+     */
+    public void setHeaderPool(@NonNull RecyclerView.RecycledViewPool pool) {
+        headerPool = pool;
+    }
+
+    /**
+     * Set up max count of cached header holders for view type
+     *
+     * @param viewType header view type
+     * @param max      max count of cached holders
+     */
+    public void setHeaderPoolSize(int viewType, int max) {
+        headerPool.setMaxRecycledViews(viewType, max);
+    }
+
+    /**
+     * Enable binding and measuring of the next header while it pushes current header.
+     * When next header becomes pinned, it is already prepared and the swap frame does no inflation or measuring.
+     *
+     * @param enabled true to prepare next header ahead, false otherwise
+     */
+    public void setLookAheadEnabled(boolean enabled) {
+        lookAheadEnabled = enabled;
+        if (!enabled && !idlePrefetchEnabled) {
+            nextHeader.release(headerPool);
+        }
+    }
+
+    /**
+     * Enable preparing of the adjacent header in scroll direction when RecyclerView becomes idle.
+     *
+     * @param enabled true to prepare adjacent header in idle time, false otherwise
+     */
+    public void setIdlePrefetchEnabled(boolean enabled) {
+        idlePrefetchEnabled = enabled;
+        if (!enabled && !lookAheadEnabled) {
+            nextHeader.release(headerPool);
+        }
+    }
+
+    /**
+     * Enable drawing of the header from recorded snapshot instead of drawing whole header view tree every frame.
+     * Snapshot uses {@link android.graphics.RenderNode} on API 29+ and bitmap cache on older API.
+     * Snapshot is re-recorded only when header is rebound or {@link #invalidateHeader()} is called.
+     * <p>
+     * Header view is not attached to RecyclerView, so changes inside it (async image load, text change of
+     * nested view) don't reliably reach decoration. Call {@link #invalidateHeader()} for such changes.
+     *
+     * @param enabled true to draw header from snapshot, false otherwise
+     */
+    public void setSnapshotEnabled(boolean enabled) {
+        snapshotEnabled = enabled;
+        if (!enabled) {
+            currentHeader.snapshot.release();
+            nextHeader.snapshot.release();
+        }
+    }
+
+    /**
+     * Re-record header snapshot on next frame. Call it when header content changes without adapter notification,
+     * e.g. image is loaded in to header, and then {@link RecyclerView#invalidate()} to redraw decoration.
+     * Rebound header is re-recorded without this call.
+     */
+    public void invalidateHeader() {
+        currentHeader.snapshot.invalidate();
+        nextHeader.snapshot.invalidate();
+    }
+
+    /**
+     * Set up listener of per-frame metrics: draw, header bind and measure timings,
+     * counts of header rebinds and creations and header cache hits. Without listener metrics are not collected.
+     *
+     * @param listener metrics listener or null to stop collecting
+     */
+    public void setMetricsListener(@Nullable DecorationMetrics.Listener listener) {
+        metricsListener = listener;
+        metrics.reset();
+    }
+
+    /**
+     * Detach decoration from RecyclerView and its adapter: unregister adapter observer, remove layout and scroll
+     * listeners and return header holders in to pool. Call it together with
+     * {@link RecyclerView#removeItemDecoration(RecyclerView.ItemDecoration)} when decoration is replaced,
+     * otherwise adapter and RecyclerView keep the decoration and its header views alive.
+     * Decoration can't be used after release.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        adapter.unregisterAdapterDataObserver(adapterObserver);
+        parent.removeOnLayoutChangeListener(layoutChangeListener);
+        parent.removeOnScrollListener(scrollListener);
+        parent.removeCallbacks(idlePrefetch);
+        if (concatCondition != null) {
+            concatCondition.release();
+        }
+        headerIndex.invalidate();
+        clearHeader();
+        currentHeader.snapshot.release();
+        nextHeader.snapshot.release();
+    }
+
+    private void init(@NonNull final RecyclerView parent) {
         RecyclerView.Adapter adapter = parent.getAdapter();
         if (adapter == null) {
             throw new IllegalArgumentException("Firstly set adapter");
         }
+        this.parent = parent;
+        this.adapter = adapter;
 
-        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+        adapterObserver = new RecyclerView.AdapterDataObserver() {
             @Override
             public void onChanged() {
+                headerIndex.invalidate();
                 clearHeader();
             }
-        });
 
-        parent.addOnLayoutChangeListener(new View.OnLayoutChangeListener() {
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                headerIndex.onItemRangeChanged(condition, positionStart, itemCount);
+                currentHeader.onItemRangeChanged(positionStart, itemCount);
+                nextHeader.onItemRangeChanged(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                headerIndex.onItemRangeInserted(condition, positionStart, itemCount);
+                currentHeader.onItemRangeInserted(positionStart, itemCount);
+                nextHeader.onItemRangeInserted(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                headerIndex.onItemRangeRemoved(condition, positionStart, itemCount);
+                currentHeader.onItemRangeRemoved(positionStart, itemCount);
+                nextHeader.onItemRangeRemoved(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                headerIndex.onItemRangeMoved(condition, fromPosition, toPosition, itemCount);
+                currentHeader.onItemRangeMoved(fromPosition, toPosition, itemCount);
+                nextHeader.onItemRangeMoved(fromPosition, toPosition, itemCount);
+            }
+        };
+        adapter.registerAdapterDataObserver(adapterObserver);
+
+        layoutChangeListener = new View.OnLayoutChangeListener() {
             @Override
             public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
-                clearHeader();
+                // header measured with parent width (height in horizontal orientation), so only its change requires new measure
+                boolean sizeChanged = isVertical() ?
+                        right - left != oldRight - oldLeft :
+                        bottom - top != oldBottom - oldTop;
+                if (sizeChanged) {
+                    currentHeader.dirty = true;
+                    nextHeader.dirty = true;
+                }
+            }
+        };
+        parent.addOnLayoutChangeListener(layoutChangeListener);
+
+        idlePrefetch = new Runnable() {
+            @Override
+            public void run() {
+                prefetchAdjacentHeader(parent);
             }
-        });
+        };
+        scrollListener = new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int delta = isVertical() ? dy : dx;
+                if (delta != 0) {
+                    // positions grow to the left in RTL horizontal layout
+                    scrollTowardEnd = (delta > 0) != (reverseLayout != isRtl(recyclerView));
+                }
+            }
+
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (idlePrefetchEnabled && newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    recyclerView.post(idlePrefetch);
+                }
+            }
+        };
+        parent.addOnScrollListener(scrollListener);
     }
 
     private void clearHeader() {
-        currentHeader = null;
+        currentHeader.release(headerPool);
+        nextHeader.release(headerPool);
     }
 
     @Override
     public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        boolean trace = Trace.isEnabled();
+        if (trace) {
+            Trace.beginSection(DecorationMetrics.TRACE_DRAW);
+        }
+        DecorationMetrics.Listener listener = metricsListener;
+        long start = listener != null ? System.nanoTime() : 0;
+        drawOver(c, parent, state);
+        if (listener != null) {
+            metrics.drawNanos += System.nanoTime() - start;
+            listener.onFrameMetrics(metrics);
+            metrics.reset();
+        }
+        if (trace) {
+            Trace.endSection();
+        }
+    }
+
+    private void drawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         if (state.getItemCount() == 0) {
             return;
         }
 
-        View topChild = getTopChild(parent);
-        if (topChild == null) {
+        int topPosition = getTopPosition(parent);
+        if (topPosition == RecyclerView.NO_POSITION) {
             return;
         }
 
-        int topPosition = parent.getChildAdapterPosition(topChild);
         View header = getHeaderViewForItem(topPosition, parent);
         if (header == null) {
             return;
         }
 
-        int contactPoint = header.getBottom();
+        int contactPoint = getContactPoint(parent, header);
         View contactChild = getChildInContact(parent, contactPoint);
         if (contactChild == null) {
             return;
         }
 
-        if (condition.isHeader(parent.getChildAdapterPosition(contactChild))) {
-            moveHeader(c, header, contactChild);
+        int contactPosition = parent.getChildAdapterPosition(contactChild);
+        if (isHeaderPosition(contactPosition) && !(footer && contactPosition == currentHeader.position)) {
+            if (lookAheadEnabled) {
+                prepareNextHeader(parent, contactPosition);
+            }
+            moveHeader(c, parent, header, contactChild);
             return;
         }
 
-        drawHeader(c, header);
+        drawHeader(c, parent, header);
+    }
+
+    private int floorHeader(int position) {
+        return concatCondition != null ? concatCondition.floor(position) : headerIndex.floor(position);
+    }
+
+    private int ceilingHeader(int position) {
+        return concatCondition != null ? concatCondition.ceiling(position) : headerIndex.ceiling(position);
+    }
+
+    private boolean isHeaderPosition(int position) {
+        return concatCondition != null ? concatCondition.contains(position) : headerIndex.contains(position);
+    }
+
+    private boolean isVertical() {
+        return orientation == RecyclerView.VERTICAL;
+    }
+
+    /**
+     * @return true if header sticks to the right edge of horizontal layout
+     */
+    private boolean isRtl(@NonNull RecyclerView parent) {
+        return !isVertical() && parent.getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+    }
+
+    private int getContactPoint(@NonNull RecyclerView parent, @NonNull View header) {
+        if (footer) {
+            return parent.getHeight() - header.getHeight();
+        }
+        if (isRtl(parent)) {
+            return parent.getWidth() - header.getWidth();
+        }
+        return isVertical() ? header.getBottom() : header.getRight();
+    }
+
+    /**
+     * @return position of the topmost item, or the bottommost one in footer mode
+     */
+    private int getTopPosition(@NonNull RecyclerView parent) {
+        RecyclerView.LayoutManager layout = parent.getLayoutManager();
+        if (layout instanceof StaggeredGridLayoutManager) {
+            // bottom edge of staggered grid is the top edge of reversed one
+            return staggeredTop.find((StaggeredGridLayoutManager) layout, reverseLayout != footer);
+        }
+
+        View topChild = getTopChild(parent);
+        if (topChild == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        return parent.getChildAdapterPosition(topChild);
     }
 
     @Nullable
     private View getTopChild(@NonNull RecyclerView parent) {
+        if (footer) {
+            return reverseLayout ?
+                    parent.findChildViewUnder(0, parent.getHeight() - 1) :
+                    parent.getChildAt(parent.getChildCount() - 1);
+        }
         if (reverseLayout) {
-            return parent.findChildViewUnder(0, 0);
+            return parent.findChildViewUnder(isRtl(parent) ? parent.getWidth() - 1 : 0, 0);
         }
         return parent.getChildAt(0);
     }
@@ -98,95 +392,216 @@ public class ViewHolderStickyDecoration extends RecyclerView.ItemDecoration {
         if (adapter == null) {
             return null;
         }
-        int headerPosition = reverseLayout ?
-                getHeaderPositionForItemRevense(adapter.getItemCount(), position) :
-                getHeaderPositionForItem(position);
+        if (concatCondition == null && !headerIndex.isValid()) {
+            headerIndex.build(condition, adapter.getItemCount());
+        }
+        // footer of the section is the nearest one in opposite direction
+        int headerPosition = reverseLayout != footer ?
+                ceilingHeader(position) :
+                floorHeader(position);
 
         if (headerPosition == RecyclerView.NO_POSITION) {
             return null;
         }
+        if (!HeaderIndex.isLoaded(condition, headerPosition)) {
+            // binding of placeholder would force page load from draw pass
+            return null;
+        }
 
         int viewType = adapter.getItemViewType(headerPosition);
-        if (currentHeader != null && headerPosition == currentHeader.first && currentHeader.second.getItemViewType() == viewType) {
-            return currentHeader.second.itemView;
+        if (currentHeader.isBoundTo(headerPosition, viewType)) {
+            if (metricsListener != null) {
+                metrics.headerCacheHits++;
+            }
+            View header = currentHeader.holder.itemView;
+            if (header.isLayoutRequested()) {
+                fixViewSize(parent, header);
+                currentHeader.snapshot.invalidate();
+            }
+            return header;
+        }
+
+        if (nextHeader.isBoundTo(headerPosition, viewType)) {
+            // next header already prepared, keep current as next for scroll back
+            if (metricsListener != null) {
+                metrics.headerCacheHits++;
+            }
+            HeaderSlot prepared = nextHeader;
+            nextHeader = currentHeader;
+            currentHeader = prepared;
+            return currentHeader.holder.itemView;
         }
 
-        RecyclerView.ViewHolder holder = adapter.createViewHolder(parent, viewType);
-        adapter.onBindViewHolder(holder, headerPosition);
-        fixViewSize(parent, holder.itemView);
-        currentHeader = new Pair<>(headerPosition, holder);
-        return holder.itemView;
+        if (metricsListener != null) {
+            metrics.headerCacheMisses++;
+        }
+        bindHeader(adapter, parent, currentHeader, headerPosition, viewType);
+        return currentHeader.holder.itemView;
     }
 
-    private int getHeaderPositionForItem(int position) {
-        int headerPosition = RecyclerView.NO_POSITION;
-        int currentPosition = position;
-        do {
-            if (condition.isHeader(currentPosition)) {
-                headerPosition = currentPosition;
-                break;
-            }
-            currentPosition -= 1;
-        } while (currentPosition >= 0);
+    private void prepareNextHeader(@NonNull RecyclerView parent, int position) {
+        RecyclerView.Adapter adapter = parent.getAdapter();
+        if (adapter == null || position == RecyclerView.NO_POSITION || position == currentHeader.position
+                || !HeaderIndex.isLoaded(condition, position)) {
+            return;
+        }
 
-        return headerPosition;
+        int viewType = adapter.getItemViewType(position);
+        if (!nextHeader.isBoundTo(position, viewType)) {
+            bindHeader(adapter, parent, nextHeader, position, viewType);
+        }
     }
 
-    private int getHeaderPositionForItemRevense(int totalCount, int position) {
-        int headerPosition = RecyclerView.NO_POSITION;
-        int currentPosition = position;
-        do {
-            if (condition.isHeader(currentPosition)) {
-                headerPosition = currentPosition;
-                break;
-            }
-            currentPosition += 1;
-        } while (currentPosition < totalCount);
+    private void prefetchAdjacentHeader(@NonNull RecyclerView parent) {
+        if (!idlePrefetchEnabled || (concatCondition == null && !headerIndex.isValid()) || currentHeader.position == RecyclerView.NO_POSITION) {
+            return;
+        }
 
-        return headerPosition;
+        int position = scrollTowardEnd ?
+                ceilingHeader(currentHeader.position + 1) :
+                floorHeader(currentHeader.position - 1);
+        prepareNextHeader(parent, position);
     }
 
-    private void fixViewSize(ViewGroup parent, View view) {
-        // Specs for parent (RecyclerView)
-        int widthSpec = View.MeasureSpec.makeMeasureSpec(parent.getWidth(), View.MeasureSpec.EXACTLY);
-        int heightSpec = View.MeasureSpec.makeMeasureSpec(parent.getHeight(), View.MeasureSpec.UNSPECIFIED);
+    private void bindHeader(@NonNull RecyclerView.Adapter adapter, @NonNull RecyclerView parent, @NonNull HeaderSlot slot, int position, int viewType) {
+        boolean trace = Trace.isEnabled();
+        if (trace) {
+            Trace.beginSection(DecorationMetrics.TRACE_BIND);
+        }
+        long start = metricsListener != null ? System.nanoTime() : 0;
+        boolean created = HeaderBinder.bind(adapter, parent, headerPool, slot, position, viewType, concatCondition);
+        if (metricsListener != null) {
+            metrics.bindNanos += System.nanoTime() - start;
+            if (created) {
+                metrics.headerCreations++;
+            } else {
+                metrics.headerRebinds++;
+            }
+        }
+        if (trace) {
+            Trace.endSection();
+        }
 
-        // Specs for children (headers)
-        int childWidthSpec = ViewGroup.getChildMeasureSpec(widthSpec, parent.getPaddingLeft() + parent.getPaddingRight(), view.getLayoutParams().width);
-        int childHeightSpec = ViewGroup.getChildMeasureSpec(heightSpec, parent.getPaddingTop() + parent.getPaddingBottom(), view.getLayoutParams().height);
+        fixViewSize(parent, slot.holder.itemView);
+    }
 
-        view.measure(childWidthSpec, childHeightSpec);
-        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    private void fixViewSize(ViewGroup parent, View view) {
+        boolean trace = Trace.isEnabled();
+        if (trace) {
+            Trace.beginSection(DecorationMetrics.TRACE_MEASURE);
+        }
+        long start = metricsListener != null ? System.nanoTime() : 0;
+        HeaderBinder.measure(parent, view, isVertical());
+        if (metricsListener != null) {
+            metrics.measureNanos += System.nanoTime() - start;
+        }
+        if (trace) {
+            Trace.endSection();
+        }
     }
 
+    /**
+     * Find child which crosses contact point. In staggered grid several children of different spans
+     * can cross contact point, header child is preferred then.
+     */
     @Nullable
     private View getChildInContact(RecyclerView parent, int contactPoint) {
+        boolean staggered = parent.getLayoutManager() instanceof StaggeredGridLayoutManager;
+        View contactChild = null;
         for (int i = 0; i < parent.getChildCount(); i++) {
             View child = parent.getChildAt(i);
             parent.getDecoratedBoundsWithMargins(child, bounds);
-            if (bounds.bottom > contactPoint && bounds.top <= contactPoint) {
-                return child;
+            int start = isVertical() ? bounds.top : bounds.left;
+            int end = isVertical() ? bounds.bottom : bounds.right;
+            if (end > contactPoint && start <= contactPoint) {
+                if (!staggered || isHeaderPosition(parent.getChildAdapterPosition(child))) {
+                    return child;
+                }
+                if (contactChild == null) {
+                    contactChild = child;
+                }
             }
         }
 
-        return null;
+        return contactChild;
     }
 
-    private void moveHeader(Canvas c, View header, View nextHeader) {
+    private void moveHeader(Canvas c, RecyclerView parent, View header, View nextHeader) {
         c.save();
-        c.translate(0, (nextHeader.getTop() - header.getHeight()));
-        header.draw(c);
+        if (footer) {
+            c.translate(0, Math.max(nextHeader.getBottom(), parent.getHeight() - header.getHeight()));
+        } else if (isVertical()) {
+            c.translate(0, (nextHeader.getTop() - header.getHeight()));
+        } else if (isRtl(parent)) {
+            c.translate(nextHeader.getRight(), 0);
+        } else {
+            c.translate((nextHeader.getLeft() - header.getWidth()), 0);
+        }
+        drawHeaderView(c, header);
         c.restore();
     }
 
-    private void drawHeader(Canvas c, View header) {
+    private void drawHeader(Canvas c, RecyclerView parent, View header) {
         c.save();
-        c.translate(0, 0);
-        header.draw(c);
+        if (footer) {
+            c.translate(0, parent.getHeight() - header.getHeight());
+        } else if (isRtl(parent)) {
+            c.translate(parent.getWidth() - header.getWidth(), 0);
+        }
+        drawHeaderView(c, header);
         c.restore();
     }
 
+    private void drawHeaderView(Canvas c, View header) {
+        if (snapshotEnabled) {
+            currentHeader.snapshot.draw(c, header);
+        } else {
+            header.draw(c);
+        }
+    }
+
     public interface Condition {
         boolean isHeader(int position);
     }
+
+    /**
+     * Condition which can evaluate contiguous range of positions in one call, e.g. condition backed by
+     * database cursor or paging snapshot. Header index is built and patched with range calls.
+     */
+    public interface RangeCondition extends Condition {
+
+        /**
+         * Evaluate {@link #isHeader(int)} for positions from positionStart to positionStart + itemCount - 1
+         *
+         * @param positionStart first adapter position of range
+         * @param itemCount     count of positions in range
+         * @param out           array to fill, out[i] is result for position positionStart + i.
+         *                      Array length may be greater than itemCount
+         */
+        void fillHeaders(int positionStart, int itemCount, @NonNull boolean[] out);
+    }
+
+    /**
+     * Condition for paged adapters with placeholders. Header index is fed only from loaded items
+     * and from section metadata for not loaded regions, so decoration never touches placeholders.
+     * Header which is not loaded yet is not drawn until its page is loaded.
+     * <p>
+     * None of methods should trigger page load, e.g. use {@code PagingDataAdapter.peek(position)}
+     * instead of {@code getItem(position)}. Loaded pages are picked up from adapter change notifications.
+     */
+    public interface PagedCondition extends Condition {
+        /**
+         * @param position adapter position
+         * @return true if item is loaded, false for placeholder
+         */
+        boolean isLoaded(int position);
+
+        /**
+         * Return header flag for not loaded position, e.g. from server-provided section metadata
+         *
+         * @param position adapter position of placeholder
+         * @return true if placeholder will be header
+         */
+        boolean isPlaceholderHeader(int position);
+    }
 }
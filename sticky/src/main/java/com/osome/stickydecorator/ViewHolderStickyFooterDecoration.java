@@ -0,0 +1,23 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * View holder based sticky footer. Footer of the bottommost visible section is pinned to the bottom edge
+ * of RecyclerView and pushed down by the footer of the previous section.
+ * Condition should match footer items, i.e. the last item of each section.
+ * <p>
+ * Footer holders, look-ahead, idle prefetch and snapshots work the same way as in {@link ViewHolderStickyDecoration}.
+ * Now supports only vertical orientation.
+ */
+public class ViewHolderStickyFooterDecoration extends ViewHolderStickyDecoration {
+
+    public ViewHolderStickyFooterDecoration(@NonNull RecyclerView parent, @NonNull Condition condition) {
+        this(parent, condition, false);
+    }
+
+    public ViewHolderStickyFooterDecoration(@NonNull RecyclerView parent, @NonNull Condition condition, boolean reverseLayout) {
+        super(parent, condition, RecyclerView.VERTICAL, reverseLayout, true);
+    }
+}
@@ -0,0 +1,121 @@
+package com.osome.stickydecorator;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CachedConditionTest {
+
+    @Test
+    public void randomRangeEventsMatchWrappedCondition() {
+        Random random = new Random(42);
+        for (int round = 0; round < 100; round++) {
+            DateAdapter adapter = new DateAdapter();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                adapter.dates.add(random.nextInt(3));
+            }
+            CachedCondition cached = new CachedCondition(adapter, adapter);
+
+            for (int event = 0; event < 30; event++) {
+                // fill cache for part of positions, the rest is evaluated after event
+                for (int position = 0; position < adapter.getItemCount(); position++) {
+                    if (random.nextBoolean()) {
+                        cached.isForDrawOver(position);
+                    }
+                }
+                applyRandomEvent(random, adapter);
+                for (int position = 0; position < adapter.getItemCount(); position++) {
+                    assertEquals("round " + round + ", event " + event + ", position " + position,
+                            adapter.isForDrawOver(position), cached.isForDrawOver(position));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void releaseUnregistersObserver() {
+        DateAdapter adapter = new DateAdapter();
+        CachedCondition cached = new CachedCondition(adapter, adapter);
+
+        cached.release();
+        cached.release();
+
+        assertFalse(adapter.hasObservers());
+    }
+
+    private static void applyRandomEvent(@NonNull Random random, @NonNull DateAdapter adapter) {
+        List<Integer> dates = adapter.dates;
+        int size = dates.size();
+        int type = size == 0 ? 0 : random.nextInt(4);
+        if (type == 0) {
+            int start = random.nextInt(size + 1);
+            int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                dates.add(start, random.nextInt(3));
+            }
+            adapter.notifyItemRangeInserted(start, count);
+        } else if (type == 1) {
+            int start = random.nextInt(size);
+            int count = 1 + random.nextInt(Math.min(3, size - start));
+            dates.subList(start, start + count).clear();
+            adapter.notifyItemRangeRemoved(start, count);
+        } else if (type == 2) {
+            int start = random.nextInt(size);
+            int count = 1 + random.nextInt(Math.min(3, size - start));
+            for (int i = start; i < start + count; i++) {
+                dates.set(i, random.nextInt(3));
+            }
+            adapter.notifyItemRangeChanged(start, count);
+        } else {
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            dates.add(to, dates.remove(from));
+            adapter.notifyItemMoved(from, to);
+        }
+    }
+
+    /**
+     * Section starts with the first item or item which date differs from previous item
+     */
+    private static class DateAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements ConditionItemDecorator.Condition {
+        final List<Integer> dates = new ArrayList<>();
+
+        @Override
+        public boolean isForDrawOver(int position) {
+            return position == 0 || !dates.get(position).equals(dates.get(position - 1));
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(ApplicationProvider.getApplicationContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return dates.size();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.osome.stickydecorator;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ConcatAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ConcatConditionTest {
+    private static final String HEADER = "H";
+    private static final String ITEM = "i";
+
+    private ItemAdapter first;
+    private ItemAdapter second;
+    private ConcatCondition condition;
+
+    @Before
+    public void setUp() {
+        // global positions: 0 H, 1 i, 2 H, 3 i | 4 i, 5 i, 6 H, 7 i
+        first = new ItemAdapter(HEADER, ITEM, HEADER, ITEM);
+        second = new ItemAdapter(ITEM, ITEM, HEADER, ITEM);
+        condition = new ConcatCondition(new ConcatAdapter(first, second));
+    }
+
+    @Test
+    public void floorAndCeilingCrossPartBoundary() {
+        assertHeaders(0, 2, 6);
+        // items before the first header of the second part belong to the last section of the first part
+        assertEquals(2, condition.floor(4));
+        assertEquals(2, condition.floor(5));
+        assertEquals(6, condition.floor(7));
+        assertEquals(6, condition.ceiling(3));
+        assertEquals(RecyclerView.NO_POSITION, condition.ceiling(7));
+        assertSame(second, condition.getLocalAdapter(6));
+        assertEquals(2, condition.getLocalPosition(6));
+    }
+
+    @Test
+    public void insertInFirstPart() {
+        first.insert(1, HEADER);
+
+        assertHeaders(0, 1, 3, 7);
+        assertEquals(3, condition.floor(5));
+        assertEquals(7, condition.ceiling(4));
+        assertSame(second, condition.getLocalAdapter(7));
+        assertEquals(2, condition.getLocalPosition(7));
+    }
+
+    @Test
+    public void removeInFirstPart() {
+        first.remove(2);
+
+        assertHeaders(0, 5);
+        assertEquals(0, condition.floor(4));
+        assertEquals(5, condition.ceiling(1));
+    }
+
+    @Test
+    public void insertInSecondPart() {
+        second.insert(0, HEADER);
+
+        assertHeaders(0, 2, 4, 7);
+        assertEquals(2, condition.floor(3));
+        assertEquals(4, condition.ceiling(3));
+        assertEquals(4, condition.floor(6));
+    }
+
+    @Test
+    public void removeInSecondPart() {
+        second.remove(2);
+
+        assertHeaders(0, 2);
+        assertEquals(2, condition.floor(6));
+        assertEquals(RecyclerView.NO_POSITION, condition.ceiling(3));
+    }
+
+    private void assertHeaders(Integer... expected) {
+        int itemCount = first.getItemCount() + second.getItemCount();
+        List<Integer> headers = new ArrayList<>();
+        for (int position = 0; position < itemCount; position++) {
+            if (condition.isHeader(position)) {
+                headers.add(position);
+            }
+        }
+        assertEquals(Arrays.asList(expected), headers);
+    }
+
+    private static class ItemAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements ViewHolderStickyDecoration.Condition {
+        private final List<String> items;
+
+        ItemAdapter(String... items) {
+            this.items = new ArrayList<>(Arrays.asList(items));
+        }
+
+        void insert(int position, @NonNull String item) {
+            items.add(position, item);
+            notifyItemInserted(position);
+        }
+
+        void remove(int position) {
+            items.remove(position);
+            notifyItemRemoved(position);
+        }
+
+        @Override
+        public boolean isHeader(int position) {
+            return HEADER.equals(items.get(position));
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(ApplicationProvider.getApplicationContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return items.size();
+        }
+    }
+}
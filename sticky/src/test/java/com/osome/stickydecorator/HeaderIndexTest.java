@@ -0,0 +1,241 @@
+package com.osome.stickydecorator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeaderIndexTest {
+
+    @Test
+    public void build() {
+        DateCondition condition = new DateCondition(1, 1, 2, 2, 2, 3);
+        HeaderIndex index = condition.buildIndex();
+
+        assertHeaders(index, condition, 0, 2, 5);
+        assertEquals(2, index.floor(4));
+        assertEquals(5, index.ceiling(3));
+        assertEquals(RecyclerView.NO_POSITION, index.ceiling(6));
+    }
+
+    @Test
+    public void insertInToSectionStart() {
+        DateCondition condition = new DateCondition(1, 1, 2, 2);
+        HeaderIndex index = condition.buildIndex();
+
+        // inserted item becomes header, former header doesn't differ from previous item anymore
+        condition.insert(2, 2);
+        index.onItemRangeInserted(condition, 2, 1);
+
+        assertHeaders(index, condition, 0, 2);
+    }
+
+    @Test
+    public void insertNewSectionBeforeSectionStart() {
+        DateCondition condition = new DateCondition(1, 1, 2, 2);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.insert(2, 5, 5);
+        index.onItemRangeInserted(condition, 2, 2);
+
+        assertHeaders(index, condition, 0, 2, 4);
+    }
+
+    @Test
+    public void insertAtFirstPosition() {
+        DateCondition condition = new DateCondition(1, 1, 2);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.insert(0, 1);
+        index.onItemRangeInserted(condition, 0, 1);
+
+        assertHeaders(index, condition, 0, 3);
+    }
+
+    @Test
+    public void removeWholeSection() {
+        DateCondition condition = new DateCondition(1, 2, 1);
+        HeaderIndex index = condition.buildIndex();
+
+        // items around removed section become one section
+        condition.remove(1, 1);
+        index.onItemRangeRemoved(condition, 1, 1);
+
+        assertHeaders(index, condition, 0);
+    }
+
+    @Test
+    public void removeSectionStart() {
+        DateCondition condition = new DateCondition(1, 1, 2, 2, 3);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.remove(2, 1);
+        index.onItemRangeRemoved(condition, 2, 1);
+
+        assertHeaders(index, condition, 0, 2, 3);
+    }
+
+    @Test
+    public void removeFirstPosition() {
+        DateCondition condition = new DateCondition(1, 2, 2);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.remove(0, 1);
+        index.onItemRangeRemoved(condition, 0, 1);
+
+        assertHeaders(index, condition, 0);
+    }
+
+    @Test
+    public void moveSectionStartBackward() {
+        DateCondition condition = new DateCondition(1, 1, 2, 2);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.move(2, 0);
+        index.onItemRangeMoved(condition, 2, 0, 1);
+
+        assertHeaders(index, condition, 0, 1, 3);
+    }
+
+    @Test
+    public void moveSectionStartForward() {
+        DateCondition condition = new DateCondition(1, 2, 2, 3);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.move(1, 3);
+        index.onItemRangeMoved(condition, 1, 3, 1);
+
+        assertHeaders(index, condition, 0, 1, 2, 3);
+    }
+
+    @Test
+    public void moveJoinsSections() {
+        DateCondition condition = new DateCondition(1, 2, 1, 3);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.move(1, 3);
+        index.onItemRangeMoved(condition, 1, 3, 1);
+
+        assertHeaders(index, condition, 0, 2, 3);
+    }
+
+    @Test
+    public void changeSectionStart() {
+        DateCondition condition = new DateCondition(1, 1, 2, 2);
+        HeaderIndex index = condition.buildIndex();
+
+        condition.set(1, 2);
+        index.onItemRangeChanged(condition, 1, 1);
+
+        assertHeaders(index, condition, 0, 1);
+    }
+
+    @Test
+    public void randomEventsMatchFullBuild() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            DateCondition condition = new DateCondition();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                condition.dates.add(random.nextInt(3));
+            }
+            HeaderIndex index = condition.buildIndex();
+
+            for (int event = 0; event < 30; event++) {
+                int size = condition.dates.size();
+                int type = random.nextInt(4);
+                if (type == 0 || size == 0) {
+                    int start = random.nextInt(size + 1);
+                    condition.insert(start, random.nextInt(3));
+                    index.onItemRangeInserted(condition, start, 1);
+                } else if (type == 1) {
+                    int start = random.nextInt(size);
+                    condition.remove(start, 1);
+                    index.onItemRangeRemoved(condition, start, 1);
+                } else if (type == 2) {
+                    int start = random.nextInt(size);
+                    condition.set(start, random.nextInt(3));
+                    index.onItemRangeChanged(condition, start, 1);
+                } else {
+                    int from = random.nextInt(size);
+                    int to = random.nextInt(size);
+                    condition.move(from, to);
+                    index.onItemRangeMoved(condition, from, to, 1);
+                }
+                assertEquals(condition.headers(), headersOf(index, condition.dates.size()));
+            }
+        }
+    }
+
+    private static void assertHeaders(@NonNull HeaderIndex index, @NonNull DateCondition condition, Integer... expected) {
+        assertEquals(Arrays.asList(expected), condition.headers());
+        assertEquals(Arrays.asList(expected), headersOf(index, condition.dates.size()));
+    }
+
+    @NonNull
+    private static List<Integer> headersOf(@NonNull HeaderIndex index, int itemCount) {
+        List<Integer> headers = new ArrayList<>();
+        for (int position = 0; position < itemCount; position++) {
+            if (index.contains(position)) {
+                headers.add(position);
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Header is the first item or item which date differs from previous item
+     */
+    private static class DateCondition implements ViewHolderStickyDecoration.Condition {
+        final List<Integer> dates = new ArrayList<>();
+
+        DateCondition(Integer... dates) {
+            this.dates.addAll(Arrays.asList(dates));
+        }
+
+        @Override
+        public boolean isHeader(int position) {
+            return position == 0 || !dates.get(position).equals(dates.get(position - 1));
+        }
+
+        @NonNull
+        HeaderIndex buildIndex() {
+            HeaderIndex index = new HeaderIndex();
+            index.build(this, dates.size());
+            return index;
+        }
+
+        @NonNull
+        List<Integer> headers() {
+            List<Integer> headers = new ArrayList<>();
+            for (int position = 0; position < dates.size(); position++) {
+                if (isHeader(position)) {
+                    headers.add(position);
+                }
+            }
+            return headers;
+        }
+
+        void insert(int position, Integer... inserted) {
+            dates.addAll(position, Arrays.asList(inserted));
+        }
+
+        void remove(int position, int count) {
+            dates.subList(position, position + count).clear();
+        }
+
+        void set(int position, int date) {
+            dates.set(position, date);
+        }
+
+        void move(int from, int to) {
+            dates.add(to, dates.remove(from));
+        }
+    }
+}
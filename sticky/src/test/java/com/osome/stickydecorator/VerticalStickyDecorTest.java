@@ -0,0 +1,135 @@
+package com.osome.stickydecorator;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class VerticalStickyDecorTest {
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 2000;
+    private static final int ITEM_COUNT = 8;
+    private static final int ITEM_HEIGHT = 100;
+    private static final int SECTION_HEIGHT = 40;
+    private static final int OTHER_INSET = 15;
+
+    @Test
+    public void cachedOffsetsAreStableAcrossLayouts() {
+        assertStableOffsets(false);
+    }
+
+    @Test
+    public void cachedOffsetsAreStableAcrossLayoutsInReversedLayout() {
+        assertStableOffsets(true);
+    }
+
+    private static void assertStableOffsets(boolean reverseLayout) {
+        Context context = ApplicationProvider.getApplicationContext();
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context, RecyclerView.VERTICAL, reverseLayout));
+        recyclerView.setAdapter(new ItemAdapter());
+        // other decoration adds its inset in to decorated bounds of every item
+        recyclerView.addItemDecoration(new RecyclerView.ItemDecoration() {
+            @Override
+            public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+                outRect.top = OTHER_INSET;
+            }
+        });
+        TestDecor decor = new TestDecor(reverseLayout);
+        decor.setOffsetsCacheEnabled(true);
+        recyclerView.addItemDecoration(new ConditionItemDecorator(new ConditionItemDecorator.Condition() {
+            @Override
+            public boolean isForDrawOver(int position) {
+                return position % 3 == 0;
+            }
+        }, decor));
+
+        layoutAndDraw(recyclerView);
+        Map<Integer, Integer> first = collectTopOffsets(recyclerView);
+        assertFalse(first.isEmpty());
+        for (int i = 0; i < 3; i++) {
+            recyclerView.invalidateItemDecorations();
+            layoutAndDraw(recyclerView);
+            assertEquals(first, collectTopOffsets(recyclerView));
+        }
+    }
+
+    private static void layoutAndDraw(@NonNull RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+        recyclerView.draw(new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888)));
+    }
+
+    @NonNull
+    private static Map<Integer, Integer> collectTopOffsets(@NonNull RecyclerView recyclerView) {
+        RecyclerView.LayoutManager layout = recyclerView.getLayoutManager();
+        Map<Integer, Integer> offsets = new HashMap<>();
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            View child = recyclerView.getChildAt(i);
+            offsets.put(recyclerView.getChildAdapterPosition(child), layout.getTopDecorationHeight(child));
+        }
+        return offsets;
+    }
+
+    private static class TestDecor extends VerticalStickyDecor {
+
+        TestDecor(boolean reverseLayout) {
+            super(reverseLayout);
+        }
+
+        @Override
+        protected void onDrawSection(@NonNull Canvas c, int position, @NonNull Rect sectionBounds, @NonNull View child) {
+        }
+
+        @Override
+        protected void onDrawHeader(@NonNull Canvas c, int position, @NonNull Rect headerBounds) {
+        }
+
+        @Override
+        protected int getSectionHeight(int position) {
+            return SECTION_HEIGHT;
+        }
+    }
+
+    private static class ItemAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+    }
+}